@@ -0,0 +1,39 @@
+package com.nnk.springboot.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.nnk.springboot.controllers.api.UserView;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ApiConfig {
+    public static final String FIELDS_FILTER = "apiFields";
+
+    @JsonFilter(FIELDS_FILTER)
+    private interface FieldsMixin {
+    }
+
+    /**
+     * Lets /api/v1 responses select the serialized properties of the entities (see ApiResponses); every property
+     * is written when no filter is given, as before.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer apiFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(BidList.class, FieldsMixin.class)
+                .mixIn(Trade.class, FieldsMixin.class)
+                .mixIn(CurvePoint.class, FieldsMixin.class)
+                .mixIn(Rating.class, FieldsMixin.class)
+                .mixIn(RuleName.class, FieldsMixin.class)
+                .mixIn(UserView.class, FieldsMixin.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.services.CurveService;
+import com.nnk.springboot.services.TradeCaptureService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Metrics on top of the ones Spring Boot records (http.server.requests for controllers,
+ * spring.data.repository.invocations for every repository method, hibernate.* statistics).
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RequestStatementCounter requestStatementCounter;
+
+    @Value("${app.metrics.max-statements-per-request:50}")
+    private int maxStatements;
+
+    @Value("${app.metrics.max-repeated-statements:10}")
+    private int maxRepeatedStatements;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, requestStatementCounter, maxStatements,
+                maxRepeatedStatements));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementCounter);
+    }
+
+    @Bean
+    public MeterBinder curveCacheMetrics(CurveService curveService) {
+        return registry -> {
+            Gauge.builder("curves.cache.points", curveService, service -> service.cacheStats().points())
+                    .register(registry);
+            Gauge.builder("curves.cache.curves", curveService, service -> service.cacheStats().curves())
+                    .register(registry);
+            FunctionCounter.builder("curves.cache.requests", curveService, service -> service.cacheStats().hits())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("curves.cache.requests", curveService, service -> service.cacheStats().misses())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("curves.cache.evictions", curveService, service -> service.cacheStats().evictions())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tradeCaptureMetrics(TradeCaptureService tradeCaptureService) {
+        return registry -> {
+            Gauge.builder("trades.capture.queued", tradeCaptureService, TradeCaptureService::queued)
+                    .register(registry);
+            Gauge.builder("trades.capture.writer.failed", tradeCaptureService,
+                    service -> service.writerFailure() == null ? 0 : 1)
+                    .register(registry);
+        };
+    }
+}
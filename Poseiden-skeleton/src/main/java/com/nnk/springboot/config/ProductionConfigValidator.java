@@ -0,0 +1,91 @@
+package com.nnk.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Refuses to start the prod profile with development settings or a pool the database would cut, listing
+ * every problem found at once.
+ */
+@Component
+@Profile("prod")
+public class ProductionConfigValidator implements InitializingBean {
+    private static final List<String> REQUIRED_DRIVER_PROPERTIES = List.of("cachePrepStmts", "useServerPrepStmts",
+            "rewriteBatchedStatements");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Environment environment;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<String> problems = new ArrayList<>();
+
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none");
+        if (!ddlAuto.equals("validate") && !ddlAuto.equals("none")) {
+            problems.add("spring.jpa.hibernate.ddl-auto must be validate or none, not " + ddlAuto);
+        }
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            problems.add("spring.jpa.show-sql must be false");
+        }
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            problems.add("spring.jpa.open-in-view must be false");
+        }
+
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            problems.add("the datasource must be a Hikari pool, not " + dataSource.getClass().getName());
+        } else {
+            HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+            if ("com.mysql.jdbc.Driver".equals(pool.getDriverClassName())) {
+                problems.add("com.mysql.jdbc.Driver is deprecated, use com.mysql.cj.jdbc.Driver");
+            }
+            // Hikari sets it to 0 when it is above max-lifetime
+            if (pool.getLeakDetectionThreshold() == 0) {
+                problems.add("spring.datasource.hikari.leak-detection-threshold must be set, below max-lifetime");
+            } else {
+                Duration exportTimeout = environment.getProperty("spring.mvc.async.request-timeout", Duration.class);
+                if (exportTimeout != null && pool.getLeakDetectionThreshold() <= exportTimeout.toMillis()) {
+                    problems.add("spring.datasource.hikari.leak-detection-threshold must be above "
+                            + "spring.mvc.async.request-timeout (" + exportTimeout.toMillis()
+                            + " ms), CSV exports hold their connection that long");
+                }
+            }
+            Properties driverProperties = pool.getDataSourceProperties();
+            for (String property : REQUIRED_DRIVER_PROPERTIES) {
+                if (!"true".equals(driverProperties.getProperty(property))) {
+                    problems.add("spring.datasource.hikari.data-source-properties." + property + " must be true");
+                }
+            }
+            try (Connection connection = pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet waitTimeout = statement.executeQuery("select @@wait_timeout")) {
+                waitTimeout.next();
+                long waitTimeoutMillis = waitTimeout.getLong(1) * 1000;
+                if (pool.getMaxLifetime() == 0 || pool.getMaxLifetime() >= waitTimeoutMillis) {
+                    problems.add("spring.datasource.hikari.max-lifetime must be below the MySQL wait_timeout ("
+                            + waitTimeoutMillis + " ms)");
+                }
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid production configuration:\n - " + String.join("\n - ", problems));
+        }
+    }
+}
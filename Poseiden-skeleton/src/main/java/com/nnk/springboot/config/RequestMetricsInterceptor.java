@@ -0,0 +1,97 @@
+package com.nnk.springboot.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per request: the Thymeleaf render time (between postHandle and afterCompletion) as the view.render timer,
+ * and the number of SQL statements as the hibernate.statements.per.request summary. Requests issuing more
+ * statements than allowed, or the same statement too many times (likely N+1), are logged and counted in
+ * hibernate.n_plus_one.suspected. Controller latency itself is the http.server.requests timer.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+    private static final String RENDER_START = RequestMetricsInterceptor.class.getName() + ".renderStart";
+    private static final String VIEW_NAME = RequestMetricsInterceptor.class.getName() + ".viewName";
+
+    private final MeterRegistry meterRegistry;
+    private final RequestStatementCounter statementCounter;
+    private final int maxStatements;
+    private final int maxRepeatedStatements;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, RequestStatementCounter statementCounter,
+                                     int maxStatements, int maxRepeatedStatements) {
+        this.meterRegistry = meterRegistry;
+        this.statementCounter = statementCounter;
+        this.maxStatements = maxStatements;
+        this.maxRepeatedStatements = maxRepeatedStatements;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            request.setAttribute(VIEW_NAME, modelAndView.getViewName());
+            request.setAttribute(RENDER_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Long renderStart = (Long) request.getAttribute(RENDER_START);
+        if (renderStart != null) {
+            Timer.builder("view.render")
+                    .tag("view", (String) request.getAttribute(VIEW_NAME))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - renderStart, TimeUnit.NANOSECONDS);
+        }
+        RequestStatementCounter.RequestStatements statements = statementCounter.stop();
+        if (statements != null) {
+            recordStatements(request, statements);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // the request goes on on another thread, don't leave the counter on this one
+        statementCounter.stop();
+    }
+
+    private void recordStatements(HttpServletRequest request, RequestStatementCounter.RequestStatements statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.count());
+
+        Map.Entry<String, Integer> mostRepeated = statements.mostRepeated();
+        boolean repeated = mostRepeated != null && mostRepeated.getValue() > maxRepeatedStatements;
+        if (repeated || statements.count() > maxStatements) {
+            Counter.builder("hibernate.n_plus_one.suspected").tag("uri", uri).register(meterRegistry).increment();
+            log.warn("{} {} ran {} SQL statements, {} times: {}", request.getMethod(), uri, statements.count(),
+                    mostRepeated.getValue(), mostRepeated.getKey());
+        }
+    }
+}
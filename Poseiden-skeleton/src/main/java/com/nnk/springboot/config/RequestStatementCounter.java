@@ -0,0 +1,61 @@
+package com.nnk.springboot.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between start() and stop(), per
+ * statement text so that one query repeated for each row of another (N+1) stands out. Registered as
+ * Hibernate's statement inspector by MetricsConfig; statements run on other threads (async requests) are
+ * not seen.
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector {
+    private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = current.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public void start() {
+        current.set(new RequestStatements());
+    }
+
+    /**
+     * Statements counted since start(), null if counting was not started on this thread.
+     */
+    public RequestStatements stop() {
+        RequestStatements statements = current.get();
+        current.remove();
+        return statements;
+    }
+
+    public static final class RequestStatements {
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int count;
+
+        private void add(String sql) {
+            count++;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * The statement executed the most times, null when none was.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+    }
+}
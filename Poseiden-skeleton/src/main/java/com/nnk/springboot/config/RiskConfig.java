@@ -0,0 +1,21 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class RiskConfig {
+
+    /**
+     * Dedicated pool so risk summaries neither starve nor are starved by parallel streams on the common pool;
+     * shut down with the context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool riskSummaryPool(
+            @Value("${app.risk.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+}
@@ -0,0 +1,46 @@
+package com.nnk.springboot.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /actuator/l2cache: hits, misses and size of every second-level cache region, plus the query cache totals.
+ * Requires hibernate.generate_statistics.
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public record RegionStats(long hits, long misses, long puts, long entriesInMemory) {
+    }
+
+    public record CacheStats(Map<String, RegionStats> regions, long queryCacheHits, long queryCacheMisses,
+                             long queryCachePuts) {
+    }
+
+    @ReadOperation
+    public CacheStats stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, RegionStats> regions = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, new RegionStats(stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                        stats.getElementCountInMemory()));
+            }
+        }
+        return new CacheStats(regions, statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount());
+    }
+}
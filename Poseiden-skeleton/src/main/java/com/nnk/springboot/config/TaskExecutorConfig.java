@@ -0,0 +1,26 @@
+package com.nnk.springboot.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Spring Boot's applicationTaskExecutor (spring.task.execution.*), declared here because Boot backs off as soon as
+ * the context holds any Executor bean (passwordHashingExecutor, riskSummaryPool). Without it MVC async requests
+ * (CSV exports, user saves) would run on a SimpleAsyncTaskExecutor, one new thread per request. Replaced by
+ * VirtualThreadConfig when app.threads.virtual=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "false", matchIfMissing = true)
+public class TaskExecutorConfig {
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.services.TradeCaptureService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * "tradeCapture" in /actuator/health: down once the write-behind writer has stopped, every capture being
+ * rejected until the application is restarted (and the journal replayed).
+ */
+@Component
+public class TradeCaptureHealthIndicator implements HealthIndicator {
+    @Autowired
+    private TradeCaptureService tradeCaptureService;
+
+    @Override
+    public Health health() {
+        Throwable failure = tradeCaptureService.writerFailure();
+        Health.Builder health = failure == null ? Health.up() : Health.down().withDetail("error", failure.toString());
+        return health.withDetail("queued", tradeCaptureService.queued()).build();
+    }
+}
@@ -1,6 +1,20 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.projections.BidListSummary;
+import com.nnk.springboot.services.BidListSearch;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.BidListSort;
+import com.nnk.springboot.services.ImportFormat;
+import com.nnk.springboot.services.ImportReport;
+import com.nnk.springboot.services.KeysetPage;
+import com.nnk.springboot.services.SearchCursor;
+import com.nnk.springboot.services.SearchPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -8,21 +22,64 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 
 
 @Controller
 public class BidListController {
-    // TODO: Inject Bid service
+    @Autowired
+    private BidListService bidListService;
 
     @RequestMapping("/bidList/list")
-    public String home(Model model)
+    public String home(Model model,
+                       @RequestParam(value = "sort", defaultValue = "ID") BidListSort sort,
+                       @RequestParam(value = "after", required = false) String after,
+                       @RequestParam(value = "afterId", required = false) Long afterId,
+                       @RequestParam(value = "size", defaultValue = "50") int size)
     {
-        // TODO: call service find all bids to show to the view
+        KeysetPage<BidListSummary> page;
+        try {
+            page = bidListService.findPage(sort, after, afterId, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        model.addAttribute("bidLists", page.content());
+        model.addAttribute("page", page);
+        model.addAttribute("sort", sort);
         return "bidList/list";
     }
 
+    /**
+     * BidList search; the Next and Previous links carry the cursor ({@code after}/{@code before} date and id) of the
+     * last or first row of the page.
+     */
+    @GetMapping("/bidList/search")
+    public String search(BidListSearch search,
+                         @RequestParam(value = "after", required = false) String after,
+                         @RequestParam(value = "afterId", required = false) Long afterId,
+                         @RequestParam(value = "before", required = false) String before,
+                         @RequestParam(value = "beforeId", required = false) Long beforeId,
+                         @RequestParam(value = "size", defaultValue = "50") int size,
+                         Model model) {
+        SearchPage<BidList> results;
+        try {
+            results = bidListService.search(search, SearchCursor.of(after, afterId), SearchCursor.of(before, beforeId), size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        model.addAttribute("search", search);
+        model.addAttribute("results", results);
+        return "bidList/search";
+    }
+
     @GetMapping("/bidList/add")
     public String addBidForm(BidList bid) {
         return "bidList/add";
@@ -30,26 +87,54 @@ public class BidListController {
 
     @PostMapping("/bidList/validate")
     public String validate(@Valid BidList bid, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return bid list
+        if (!result.hasErrors()) {
+            bidListService.save(bid);
+            return "redirect:/bidList/list";
+        }
         return "bidList/add";
     }
 
     @GetMapping("/bidList/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get Bid by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("bidList", bidListService.findById(id));
         return "bidList/update";
     }
 
     @PostMapping("/bidList/update/{id}")
-    public String updateBid(@PathVariable("id") Integer id, @Valid BidList bidList,
+    public String updateBid(@PathVariable("id") Long id, @Valid BidList bidList,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update Bid and return list Bid
+        if (result.hasErrors()) {
+            return "bidList/update";
+        }
+        bidListService.update(id, bidList);
         return "redirect:/bidList/list";
     }
 
     @GetMapping("/bidList/delete/{id}")
-    public String deleteBid(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find Bid by Id and delete the bid, return to Bid list
+    public String deleteBid(@PathVariable("id") Long id, Model model) {
+        bidListService.delete(id);
         return "redirect:/bidList/list";
     }
+
+    /**
+     * Bulk load of a CSV (header line with the property names) or JSON array upload, see BulkImportService.
+     */
+    @PostMapping("/bidList/import")
+    @ResponseBody
+    public ImportReport importBids(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return bidListService.importFile(input, ImportFormat.of(file.getContentType(), file.getOriginalFilename()));
+        }
+    }
+
+    /**
+     * Full table as CSV, written to the response while it is read from the database.
+     */
+    @GetMapping("/bidList/export")
+    public ResponseEntity<StreamingResponseBody> exportBids() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bidlist.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(bidListService::exportCsv);
+    }
 }
@@ -0,0 +1,28 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.BlotterService;
+import com.nnk.springboot.services.BlotterTopic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Event streams of the live trade and bid lists (static/js/blotter.js), see BlotterService.
+ */
+@RestController
+public class BlotterController {
+    @Autowired
+    private BlotterService blotterService;
+
+    @GetMapping(value = "/trade/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter trades() {
+        return blotterService.subscribe(BlotterTopic.TRADES);
+    }
+
+    @GetMapping(value = "/bidList/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter bidLists() {
+        return blotterService.subscribe(BlotterTopic.BID_LISTS);
+    }
+}
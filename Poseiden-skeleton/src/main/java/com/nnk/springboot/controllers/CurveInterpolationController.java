@@ -0,0 +1,44 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.CurveCacheStats;
+import com.nnk.springboot.services.CurveService;
+import com.nnk.springboot.services.InterpolationMethod;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@RestController
+public class CurveInterpolationController {
+    @Autowired
+    private CurveService curveService;
+
+    /**
+     * Evaluates the curve at every term of the JSON array body, values are returned in the same order. Without
+     * asOfDate the points stored without as of date are used.
+     */
+    @PostMapping("/curvePoint/{curveId}/interpolate")
+    public double[] interpolate(@PathVariable("curveId") Integer curveId,
+                                @RequestParam(value = "asOfDate", required = false)
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+                                @RequestParam(value = "method", defaultValue = "LINEAR") InterpolationMethod method,
+                                @RequestBody double[] terms) {
+        return curveService.findCurve(curveId, asOfDate == null ? null : Timestamp.valueOf(asOfDate))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown curve Id:" + curveId))
+                .interpolate(terms, method);
+    }
+
+    @GetMapping("/curvePoint/cache/stats")
+    public CurveCacheStats cacheStats() {
+        return curveService.cacheStats();
+    }
+}
@@ -0,0 +1,28 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.OrderBookDepth;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class OrderBookController {
+    private static final int MAX_LEVELS = 100;
+
+    @Autowired
+    private MatchingEngine matchingEngine;
+
+    /**
+     * Best {@code levels} price levels on each side of the security's book, read on the stripe owning it.
+     */
+    @GetMapping("/bidList/book/{security}")
+    public CompletableFuture<OrderBookDepth> depth(@PathVariable("security") String security,
+                                                   @RequestParam(value = "levels", defaultValue = "10") int levels) {
+        return matchingEngine.depth(security, Math.min(Math.max(levels, 1), MAX_LEVELS));
+    }
+}
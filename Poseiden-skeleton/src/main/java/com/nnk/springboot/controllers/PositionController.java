@@ -0,0 +1,40 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.Position;
+import com.nnk.springboot.services.PositionKey;
+import com.nnk.springboot.services.PositionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+public class PositionController {
+    @Autowired
+    private PositionService positionService;
+
+    /**
+     * Positions matching the given criteria, a missing criterion matches everything.
+     */
+    @GetMapping("/positions")
+    public List<Position> positions(@RequestParam(value = "account", required = false) String account,
+                                    @RequestParam(value = "book", required = false) String book,
+                                    @RequestParam(value = "security", required = false) String security) {
+        return positionService.findAll(account, book, security);
+    }
+
+    /**
+     * Exact account/book/security lookup, a missing book or security stands for trades without one.
+     */
+    @GetMapping("/positions/lookup")
+    public Position position(@RequestParam("account") String account,
+                             @RequestParam(value = "book", required = false) String book,
+                             @RequestParam(value = "security", required = false) String security) {
+        return positionService.find(new PositionKey(account, book, security))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No position for " + account));
+    }
+}
@@ -0,0 +1,59 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.RatingAgency;
+import com.nnk.springboot.services.RatingIndex;
+import com.nnk.springboot.services.RatingIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+public class RatingIndexController {
+    @Autowired
+    private RatingIndexService ratingIndexService;
+
+    /**
+     * Ordinal (orderNumber, lower is better) of each symbol of the JSON array body, -1 for unknown symbols.
+     */
+    @PostMapping("/rating/ordinals")
+    public int[] ordinals(@RequestParam("agency") RatingAgency agency, @RequestBody String[] symbols) {
+        return ratingIndexService.index().ordinals(agency, symbols);
+    }
+
+    /**
+     * Each symbol expressed in the symbols of another agency, null when unknown.
+     */
+    @PostMapping("/rating/translate")
+    public String[] translate(@RequestParam("from") RatingAgency from, @RequestParam("to") RatingAgency to,
+                              @RequestBody String[] symbols) {
+        RatingIndex index = ratingIndexService.index();
+        String[] translated = new String[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            translated[i] = index.translate(from, symbols[i], to);
+        }
+        return translated;
+    }
+
+    /**
+     * Whether each symbol is rated at least as well as the floor, e.g. agency=SANDP&floor=BBB-&floorAgency=SANDP
+     * for investment grade.
+     */
+    @PostMapping("/rating/atLeast")
+    public boolean[] atLeast(@RequestParam("agency") RatingAgency agency, @RequestParam("floor") String floor,
+                             @RequestParam("floorAgency") RatingAgency floorAgency, @RequestBody String[] symbols) {
+        RatingIndex index = ratingIndexService.index();
+        int floorOrdinal = index.ordinal(floorAgency, floor);
+        if (floorOrdinal == RatingIndex.UNKNOWN) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + floorAgency + " rating: " + floor);
+        }
+        boolean[] result = new boolean[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            result[i] = index.atLeast(agency, symbols[i], floorOrdinal);
+        }
+        return result;
+    }
+}
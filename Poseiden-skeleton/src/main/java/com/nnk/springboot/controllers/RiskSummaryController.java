@@ -0,0 +1,27 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.RiskGrouping;
+import com.nnk.springboot.services.RiskSummaryMode;
+import com.nnk.springboot.services.RiskSummaryService;
+import com.nnk.springboot.services.SpreadSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class RiskSummaryController {
+    @Autowired
+    private RiskSummaryService riskSummaryService;
+
+    /**
+     * Spread, mid and weighted bid/ask per BOOK or TRADER, computed in PARALLEL in the application or by SQL.
+     */
+    @GetMapping("/bidList/summary")
+    public List<SpreadSummary> summary(@RequestParam(value = "groupBy", defaultValue = "BOOK") RiskGrouping groupBy,
+                                       @RequestParam(value = "mode", defaultValue = "PARALLEL") RiskSummaryMode mode) {
+        return riskSummaryService.summarize(groupBy, mode);
+    }
+}
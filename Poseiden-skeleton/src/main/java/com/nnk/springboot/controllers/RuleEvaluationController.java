@@ -0,0 +1,46 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleEvaluation;
+import com.nnk.springboot.services.RuleTarget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+public class RuleEvaluationController {
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    /**
+     * Evaluates the rules (all of them without ruleIds) against the JSON array of trades; each result lists
+     * the indexes of the matching trades in the array.
+     */
+    @PostMapping("/ruleName/evaluate/trade")
+    public List<RuleEvaluation> evaluateTrades(@RequestParam(value = "ruleIds", required = false) List<Long> ruleIds,
+                                               @RequestBody List<Trade> trades) {
+        return evaluate(RuleTarget.TRADE, ruleIds, trades);
+    }
+
+    @PostMapping("/ruleName/evaluate/bidList")
+    public List<RuleEvaluation> evaluateBids(@RequestParam(value = "ruleIds", required = false) List<Long> ruleIds,
+                                             @RequestBody List<BidList> bids) {
+        return evaluate(RuleTarget.BID_LIST, ruleIds, bids);
+    }
+
+    private <T> List<RuleEvaluation> evaluate(RuleTarget<T> target, List<Long> ruleIds, List<T> rows) {
+        try {
+            return ruleEngine.evaluate(target, ruleIds, rows);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleNameService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,12 +17,16 @@ import javax.validation.Valid;
 
 @Controller
 public class RuleNameController {
-    // TODO: Inject RuleName service
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private RuleEngine ruleEngine;
 
     @RequestMapping("/ruleName/list")
     public String home(Model model)
     {
-        // TODO: find all RuleName, add to model
+        model.addAttribute("ruleNames", ruleNameService.findAllSummaries());
         return "ruleName/list";
     }
 
@@ -29,26 +37,40 @@ public class RuleNameController {
 
     @PostMapping("/ruleName/validate")
     public String validate(@Valid RuleName ruleName, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return RuleName list
+        checkRule(ruleName, result);
+        if (!result.hasErrors()) {
+            ruleNameService.save(ruleName);
+            return "redirect:/ruleName/list";
+        }
         return "ruleName/add";
     }
 
     @GetMapping("/ruleName/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get RuleName by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("ruleName", ruleNameService.findById(id));
         return "ruleName/update";
     }
 
     @PostMapping("/ruleName/update/{id}")
-    public String updateRuleName(@PathVariable("id") Integer id, @Valid RuleName ruleName,
+    public String updateRuleName(@PathVariable("id") Long id, @Valid RuleName ruleName,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update RuleName and return RuleName list
+        checkRule(ruleName, result);
+        if (result.hasErrors()) {
+            return "ruleName/update";
+        }
+        ruleNameService.update(id, ruleName);
         return "redirect:/ruleName/list";
     }
 
     @GetMapping("/ruleName/delete/{id}")
-    public String deleteRuleName(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find RuleName by Id and delete the RuleName, return to Rule list
+    public String deleteRuleName(@PathVariable("id") Long id, Model model) {
+        ruleNameService.delete(id);
         return "redirect:/ruleName/list";
     }
+
+    private void checkRule(RuleName ruleName, BindingResult result) {
+        if (StringUtils.hasText(ruleName.getJson()) || StringUtils.hasText(ruleName.getSqlPart())) {
+            ruleEngine.check(ruleName).ifPresent(error -> result.rejectValue("json", "invalid", error));
+        }
+    }
 }
@@ -1,6 +1,18 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.ImportFormat;
+import com.nnk.springboot.services.ImportReport;
+import com.nnk.springboot.services.SearchCursor;
+import com.nnk.springboot.services.SearchPage;
+import com.nnk.springboot.services.TradeCaptureService;
+import com.nnk.springboot.services.TradeSearch;
+import com.nnk.springboot.services.TradeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -8,20 +20,55 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller
 public class TradeController {
-    // TODO: Inject Trade service
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeCaptureService tradeCaptureService;
 
     @RequestMapping("/trade/list")
     public String home(Model model)
     {
-        // TODO: find all Trade, add to model
+        model.addAttribute("trades", tradeService.findAllSummaries());
         return "trade/list";
     }
 
+    /**
+     * Trade search; the Next and Previous links carry the cursor ({@code after}/{@code before} date and id) of the
+     * last or first row of the page.
+     */
+    @GetMapping("/trade/search")
+    public String search(TradeSearch search,
+                         @RequestParam(value = "after", required = false) String after,
+                         @RequestParam(value = "afterId", required = false) Long afterId,
+                         @RequestParam(value = "before", required = false) String before,
+                         @RequestParam(value = "beforeId", required = false) Long beforeId,
+                         @RequestParam(value = "size", defaultValue = "50") int size,
+                         Model model) {
+        SearchPage<Trade> results;
+        try {
+            results = tradeService.search(search, SearchCursor.of(after, afterId), SearchCursor.of(before, beforeId), size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        model.addAttribute("search", search);
+        model.addAttribute("results", results);
+        return "trade/search";
+    }
+
     @GetMapping("/trade/add")
     public String addUser(Trade bid) {
         return "trade/add";
@@ -29,26 +76,58 @@ public class TradeController {
 
     @PostMapping("/trade/validate")
     public String validate(@Valid Trade trade, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return Trade list
+        if (!result.hasErrors()) {
+            try {
+                tradeCaptureService.capture(trade);
+            } catch (RejectedExecutionException e) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+            }
+            return "redirect:/trade/list";
+        }
         return "trade/add";
     }
 
     @GetMapping("/trade/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get Trade by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("trade", tradeService.findById(id));
         return "trade/update";
     }
 
     @PostMapping("/trade/update/{id}")
-    public String updateTrade(@PathVariable("id") Integer id, @Valid Trade trade,
+    public String updateTrade(@PathVariable("id") Long id, @Valid Trade trade,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update Trade and return Trade list
+        if (result.hasErrors()) {
+            return "trade/update";
+        }
+        tradeService.update(id, trade);
         return "redirect:/trade/list";
     }
 
     @GetMapping("/trade/delete/{id}")
-    public String deleteTrade(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find Trade by Id and delete the Trade, return to Trade list
+    public String deleteTrade(@PathVariable("id") Long id, Model model) {
+        tradeService.delete(id);
         return "redirect:/trade/list";
     }
+
+    /**
+     * Bulk load of a CSV (header line with the property names) or JSON array upload, see BulkImportService.
+     */
+    @PostMapping("/trade/import")
+    @ResponseBody
+    public ImportReport importTrades(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return tradeService.importFile(input, ImportFormat.of(file.getContentType(), file.getOriginalFilename()));
+        }
+    }
+
+    /**
+     * Full table as CSV, written to the response while it is read from the database.
+     */
+    @GetMapping("/trade/export")
+    public ResponseEntity<StreamingResponseBody> exportTrades() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trade.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(tradeService::exportCsv);
+    }
 }
@@ -1,28 +1,51 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.User;
-import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.CustomUserDetailsService;
+import com.nnk.springboot.services.PasswordHashingService;
+import com.nnk.springboot.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Controller
 public class UserController {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    // saves once hashed, the hashing threads only hash
     @Autowired
-    private UserRepository userRepository;
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor applicationTaskExecutor;
 
     @RequestMapping("/user/list")
     public String home(Model model)
     {
-        model.addAttribute("users", userRepository.findAll());
+        model.addAttribute("users", userService.findAll());
         return "user/list";
     }
 
@@ -32,45 +55,56 @@ public class UserController {
     }
 
     @PostMapping("/user/validate")
-    public String validate(@Valid User user, BindingResult result, Model model) {
+    public CompletableFuture<String> validate(@Valid User user, BindingResult result, Model model) {
         if (!result.hasErrors()) {
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-            user.setPassword(encoder.encode(user.getPassword()));
-            userRepository.save(user);
-            model.addAttribute("users", userRepository.findAll());
-            return "redirect:/user/list";
+            return passwordHashingService.encode(user.getPassword()).thenApplyAsync(hash -> {
+                user.setPassword(hash);
+                userService.save(user);
+                return "redirect:/user/list";
+            }, applicationTaskExecutor);
         }
-        return "user/add";
+        return CompletableFuture.completedFuture("user/add");
     }
 
     @GetMapping("/user/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        User user = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid user Id:" + id));
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        User user = userService.findById(id);
         user.setPassword("");
         model.addAttribute("user", user);
         return "user/update";
     }
 
     @PostMapping("/user/update/{id}")
-    public String updateUser(@PathVariable("id") Integer id, @Valid User user,
+    public CompletableFuture<String> updateUser(@PathVariable("id") Long id, @Valid User user,
                              BindingResult result, Model model) {
         if (result.hasErrors()) {
-            return "user/update";
+            return CompletableFuture.completedFuture("user/update");
         }
 
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        user.setPassword(encoder.encode(user.getPassword()));
-        user.setId(id);
-        userRepository.save(user);
-        model.addAttribute("users", userRepository.findAll());
-        return "redirect:/user/list";
+        return passwordHashingService.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            userService.update(id, user);
+            // the username itself may have changed
+            userDetailsService.evictAll();
+            return "redirect:/user/list";
+        }, applicationTaskExecutor);
     }
 
     @GetMapping("/user/delete/{id}")
-    public String deleteUser(@PathVariable("id") Integer id, Model model) {
-        User user = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid user Id:" + id));
-        userRepository.delete(user);
-        model.addAttribute("users", userRepository.findAll());
+    public String deleteUser(@PathVariable("id") Long id, Model model) {
+        userService.delete(id);
+        // the username is not loaded by the delete
+        userDetailsService.evictAll();
         return "redirect:/user/list";
     }
+
+    /**
+     * The password hashing queue is full: the client is asked to come back rather than shown an error page.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> hashingBusy(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body("Too many password changes in progress, please retry");
+    }
 }
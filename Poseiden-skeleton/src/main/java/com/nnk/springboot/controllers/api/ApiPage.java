@@ -0,0 +1,9 @@
+package com.nnk.springboot.controllers.api;
+
+import java.util.List;
+
+/**
+ * One page of a collection; no total is computed, hasNext tells whether page + 1 exists.
+ */
+public record ApiPage<T>(List<T> content, int page, int size, boolean hasNext) {
+}
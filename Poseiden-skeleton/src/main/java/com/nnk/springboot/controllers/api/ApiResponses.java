@@ -0,0 +1,62 @@
+package com.nnk.springboot.controllers.api;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.nnk.springboot.config.ApiConfig;
+import com.nnk.springboot.services.CollectionVersions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET, paging and field selection shared by the /api/v1 controllers. The ETag is checked before
+ * anything is read: when it matches, null is returned and Spring answers 304 Not Modified.
+ */
+@Component
+public class ApiResponses {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    public <T> MappingJacksonValue page(WebRequest request, Class<?> entity, Set<String> fields, int page, int size,
+                                        Sort sort, Function<Pageable, Slice<T>> query) {
+        if (request.checkNotModified(collectionVersions.etag(entity))) {
+            return null;
+        }
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort);
+        Slice<T> slice = query.apply(pageable);
+        return select(new ApiPage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext()), fields);
+    }
+
+    public <T> MappingJacksonValue item(WebRequest request, Class<?> entity, Set<String> fields, Object id,
+                                        Supplier<Optional<T>> query) {
+        if (request.checkNotModified(collectionVersions.etag(entity))) {
+            return null;
+        }
+        T item = query.get().orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Invalid " + entity.getSimpleName() + " Id:" + id));
+        return select(item, fields);
+    }
+
+    private static MappingJacksonValue select(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null && !fields.isEmpty()) {
+            value.setFilters(new SimpleFilterProvider().addFilter(ApiConfig.FIELDS_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.BulkFilter;
+import com.nnk.springboot.services.RevisionLogService;
+import com.nnk.springboot.services.BidListService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/bidLists")
+public class BidListApiController {
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private BidListService bidListService;
+
+    @Autowired
+    private RevisionLogService revisionLogService;
+
+    @Autowired
+    private ApiResponses apiResponses;
+
+    @GetMapping
+    public MappingJacksonValue list(@RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "50") int size,
+                                    @RequestParam(value = "fields", required = false) Set<String> fields,
+                                    WebRequest request) {
+        return apiResponses.page(request, BidList.class, fields, page, size, Sort.by("bidListId"), bidListRepository::findAllBy);
+    }
+
+    @GetMapping("/{id}")
+    public MappingJacksonValue get(@PathVariable("id") Long id,
+                                   @RequestParam(value = "fields", required = false) Set<String> fields,
+                                   WebRequest request) {
+        return apiResponses.item(request, BidList.class, fields, id, () -> bidListRepository.findById(id));
+    }
+
+    /**
+     * The bid as it was at the given instant (ISO-8601, e.g. 2024-01-31T17:00:00Z), read from the revision log.
+     */
+    @GetMapping("/{id}/asOf")
+    public BidList asOf(@PathVariable("id") Long id,
+                        @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        try {
+            return revisionLogService.asOf(BidList.class, id, at).orElseThrow(() -> new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "No revision of BidList Id:" + id + " at " + at));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the given ids, or every row with the given status and/or book, in one statement.
+     */
+    @DeleteMapping
+    public BulkResult delete(@RequestParam(value = "ids", required = false) List<Long> ids,
+                             @RequestParam(value = "status", required = false) String status,
+                             @RequestParam(value = "book", required = false) String book) {
+        try {
+            return new BulkResult(ids != null ? bidListService.deleteAll(ids)
+                    : bidListService.deleteMatching(new BulkFilter(status, book)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the status of the given ids, or of every row with the given status and/or book, in one statement.
+     */
+    @PatchMapping("/status")
+    public BulkResult updateStatus(@RequestParam(value = "ids", required = false) List<Long> ids,
+                                   @RequestParam(value = "status", required = false) String status,
+                                   @RequestParam(value = "book", required = false) String book,
+                                   @RequestParam("value") String value) {
+        try {
+            return new BulkResult(ids != null ? bidListService.updateStatus(ids, value)
+                    : bidListService.updateStatusMatching(new BulkFilter(status, book), value));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
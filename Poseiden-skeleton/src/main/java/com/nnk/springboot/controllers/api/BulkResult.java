@@ -0,0 +1,7 @@
+package com.nnk.springboot.controllers.api;
+
+/**
+ * Number of rows affected by a bulk delete or update.
+ */
+public record BulkResult(int rows) {
+}
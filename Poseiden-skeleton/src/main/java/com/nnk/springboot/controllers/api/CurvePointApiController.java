@@ -0,0 +1,40 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/curvePoints")
+public class CurvePointApiController {
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private ApiResponses apiResponses;
+
+    @GetMapping
+    public MappingJacksonValue list(@RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "50") int size,
+                                    @RequestParam(value = "fields", required = false) Set<String> fields,
+                                    WebRequest request) {
+        return apiResponses.page(request, CurvePoint.class, fields, page, size, Sort.by("id"), curvePointRepository::findAllBy);
+    }
+
+    @GetMapping("/{id}")
+    public MappingJacksonValue get(@PathVariable("id") Long id,
+                                   @RequestParam(value = "fields", required = false) Set<String> fields,
+                                   WebRequest request) {
+        return apiResponses.item(request, CurvePoint.class, fields, id, () -> curvePointRepository.findById(id));
+    }
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.controllers.api;
+
+import com.nnk.springboot.domain.User;
+
+/**
+ * User as exposed by the API, without the password hash.
+ */
+public record UserView(Long id, String username, String fullname, String role) {
+    static UserView of(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getFullname(), user.getRole());
+    }
+}
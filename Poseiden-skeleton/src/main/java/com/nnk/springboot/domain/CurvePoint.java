@@ -1,15 +1,83 @@
 package com.nnk.springboot.domain;
 
-import org.hibernate.validator.constraints.Length;
-
 import javax.persistence.*;
-import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.sql.Timestamp;
 
 
 @Entity
-@Table(name = "curvepoint")
+@Cacheable
+@Table(name = "curvepoint", indexes = @Index(name = "ix_curvepoint_curve_date_term", columnList = "CurveId, asOfDate, term"))
 public class CurvePoint {
-    // TODO: Map columns in data table CURVEPOINT with corresponding java fields
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curvepoint_seq")
+    @SequenceGenerator(name = "curvepoint_seq", sequenceName = "curvepoint_seq", allocationSize = 50)
+    @Column(name = "Id")
+    private Long id;
+    @NotNull(message = "must not be null")
+    @Column(name = "CurveId")
+    private Integer curveId;
+    private Timestamp asOfDate;
+    @NotNull(message = "must not be null")
+    private Double term;
+    @NotNull(message = "must not be null")
+    private Double value;
+    private Timestamp creationDate;
+
+    public CurvePoint() {
+    }
+
+    public CurvePoint(Integer curveId, Double term, Double value) {
+        this.curveId = curveId;
+        this.term = term;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getCurveId() {
+        return curveId;
+    }
+
+    public void setCurveId(Integer curveId) {
+        this.curveId = curveId;
+    }
+
+    public Timestamp getAsOfDate() {
+        return asOfDate;
+    }
+
+    public void setAsOfDate(Timestamp asOfDate) {
+        this.asOfDate = asOfDate;
+    }
+
+    public Double getTerm() {
+        return term;
+    }
+
+    public void setTerm(Double term) {
+        this.term = term;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+
+    public void setValue(Double value) {
+        this.value = value;
+    }
+
+    public Timestamp getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Timestamp creationDate) {
+        this.creationDate = creationDate;
+    }
 }
@@ -0,0 +1,10 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.BidList;
+
+/**
+ * Published by BidListService inside the write transaction. {@code previous} is a detached copy of the row
+ * before an update or delete (null on create), {@code current} the row as saved (null on delete).
+ */
+public record BidListChangedEvent(ChangeType type, BidList previous, BidList current) {
+}
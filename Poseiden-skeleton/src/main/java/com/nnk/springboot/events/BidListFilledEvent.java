@@ -0,0 +1,12 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.BidList;
+
+import java.util.List;
+
+/**
+ * Published by FillRecorder inside its transaction with the BidList rows whose remaining quantity and status were
+ * updated by a match. Not a BidListChangedEvent, which would submit the orders to the matching engine again.
+ */
+public record BidListFilledEvent(List<BidList> filled) {
+}
@@ -0,0 +1,8 @@
+package com.nnk.springboot.events;
+
+/**
+ * Published inside the write transaction by a bulk JPQL statement, which bypasses the per-row events: listeners
+ * keeping per-row state for the entity must reload it.
+ */
+public record BulkChangedEvent(Class<?> entity, ChangeType type, int rows) {
+}
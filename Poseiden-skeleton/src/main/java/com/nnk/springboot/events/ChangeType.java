@@ -0,0 +1,7 @@
+package com.nnk.springboot.events;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.events;
+
+import java.sql.Timestamp;
+
+/**
+ * Published by CurvePointService inside the write transaction. The previous curve id / as of date are those
+ * of the row before an update (equal to the current ones otherwise).
+ */
+public record CurvePointChangedEvent(ChangeType type, Integer curveId, Timestamp asOfDate,
+                                     Integer previousCurveId, Timestamp previousAsOfDate) {
+}
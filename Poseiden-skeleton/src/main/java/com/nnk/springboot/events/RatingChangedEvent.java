@@ -0,0 +1,7 @@
+package com.nnk.springboot.events;
+
+/**
+ * Published by RatingService inside the write transaction.
+ */
+public record RatingChangedEvent(ChangeType type, Long id) {
+}
@@ -0,0 +1,7 @@
+package com.nnk.springboot.events;
+
+/**
+ * Published by RuleNameService inside the write transaction.
+ */
+public record RuleNameChangedEvent(ChangeType type, Long id) {
+}
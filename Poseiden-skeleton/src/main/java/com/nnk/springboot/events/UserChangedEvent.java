@@ -0,0 +1,7 @@
+package com.nnk.springboot.events;
+
+/**
+ * Published by UserService inside the write transaction.
+ */
+public record UserChangedEvent(ChangeType type, Long id) {
+}
@@ -1,9 +1,137 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.projections.BidListRiskRow;
+import com.nnk.springboot.repositories.projections.BidListSummary;
+import com.nnk.springboot.repositories.projections.SpreadTotals;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
+/**
+ * Keyset ("seek") queries always order by the sort column then by BidListId, and resume strictly after the
+ * last row of the previous page so each page is a bounded index range read. Nullable sort columns sort their
+ * nulls first (MySQL's ascending order), hence the separate "after null" variants. Pages are read as {@link BidListSummary} projections.
+ */
+public interface BidListRepository extends JpaRepository<BidList, Long> {
+    String SELECT_SUMMARY = "select b.bidListId as bidListId, b.account as account, b.type as type, " +
+            "b.bidQuantity as bidQuantity, b.book as book, b.bidListDate as bidListDate from BidList b ";
+    String SELECT_SPREAD_TOTALS = "count(b) as rowCount, count(b.bid) as bidCount, count(b.ask) as askCount, " +
+            "sum(case when b.bid is not null and b.ask is not null then 1 else 0 end) as quotedCount, " +
+            "sum(b.bid) as sumBid, sum(b.ask) as sumAsk, " +
+            "sum(b.bidQuantity) as bidQuantity, sum(b.askQuantity) as askQuantity, " +
+            "sum(case when b.bid is not null then b.bidQuantity else 0 end) as pricedBidQuantity, " +
+            "sum(case when b.ask is not null then b.askQuantity else 0 end) as pricedAskQuantity, " +
+            "sum(b.bid * b.bidQuantity) as bidNotional, sum(b.ask * b.askQuantity) as askNotional, " +
+            "sum(b.ask - b.bid) as sumSpread, sum((b.ask + b.bid) / 2) as sumMid from BidList b ";
 
+    @Query(SELECT_SUMMARY + "where b.bidListId > :afterId order by b.bidListId")
+    List<BidListSummary> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Accounts sort as coalesce(account, ''): rows without account (null or empty) come first in id order, then
+     * findPageAfterAccount, whose "account > ''" leaves them out. Two index ranges instead of a coalesce that no
+     * index can serve.
+     */
+    @Query(SELECT_SUMMARY + "where (b.account is null or b.account = '') and b.bidListId > :afterId " +
+            "order by b.bidListId")
+    List<BidListSummary> findPageAfterBlankAccount(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where b.account > :account or (b.account = :account and b.bidListId > :afterId) " +
+            "order by b.account, b.bidListId")
+    List<BidListSummary> findPageAfterAccount(@Param("account") String account, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where b.book is not null or b.bidListId > :afterId " +
+            "order by b.book, b.bidListId")
+    List<BidListSummary> findPageAfterNullBook(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where b.book > :book or (b.book = :book and b.bidListId > :afterId) " +
+            "order by b.book, b.bidListId")
+    List<BidListSummary> findPageAfterBook(@Param("book") String book, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where b.bidListDate is not null or b.bidListId > :afterId " +
+            "order by b.bidListDate, b.bidListId")
+    List<BidListSummary> findPageAfterNullBidListDate(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where b.bidListDate > :bidListDate " +
+            "or (b.bidListDate = :bidListDate and b.bidListId > :afterId) order by b.bidListDate, b.bidListId")
+    List<BidListSummary> findPageAfterBidListDate(@Param("bidListDate") Timestamp bidListDate, @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    Slice<BidList> findAllBy(Pageable pageable);
+
+    /**
+     * Whole table in id order for exports; rows are fetched from the server 1000 at a time (MySQL needs
+     * useCursorFetch=true on the connection) and loaded read-only. Must be consumed inside a transaction
+     * and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from BidList b order by b.bidListId")
+    Stream<BidList> streamAll();
+
+    /**
+     * Open rows (see Order.isOpen) that are complete enough to be orders with quantity left, oldest first (time
+     * priority on reload).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from BidList b where b.security is not null " +
+            "and (b.status is null or b.status in ('', 'OPEN', 'PARTIAL')) " +
+            "and ((b.bid is not null and b.bidQuantity > 0) or (b.ask is not null and b.askQuantity > 0)) " +
+            "order by b.bidListId")
+    Stream<BidList> streamOpenOrders();
+
+    /**
+     * Locked until the end of the transaction, in id order so that two fills on the same rows cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from BidList b where b.bidListId in :ids order by b.bidListId")
+    List<BidList> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.nnk.springboot.repositories.projections.BidListRiskRow(b.bidListId, b.book, b.trader, " +
+            "b.bid, b.ask, b.bidQuantity, b.askQuantity) from BidList b where b.bidListId > :afterId order by b.bidListId")
+    List<BidListRiskRow> findRiskRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select b.book as groupKey, " + SELECT_SPREAD_TOTALS + "group by b.book")
+    List<SpreadTotals> findSpreadTotalsByBook();
+
+    @Query("select b.trader as groupKey, " + SELECT_SPREAD_TOTALS + "group by b.trader")
+    List<SpreadTotals> findSpreadTotalsByTrader();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BidList b where b.bidListId in :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BidList b where (:status is null or b.status = :status) and (:book is null or b.book = :book)")
+    int bulkDeleteByFilter(@Param("status") String status, @Param("book") String book);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BidList b set b.status = :value, b.revisionDate = :revisionDate where b.bidListId in :ids")
+    int bulkUpdateStatusByIds(@Param("ids") Collection<Long> ids, @Param("value") String value,
+                              @Param("revisionDate") Timestamp revisionDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BidList b set b.status = :value, b.revisionDate = :revisionDate " +
+            "where (:status is null or b.status = :status) and (:book is null or b.book = :book)")
+    int bulkUpdateStatusByFilter(@Param("status") String status, @Param("book") String book, @Param("value") String value,
+                                 @Param("revisionDate") Timestamp revisionDate);
 }
@@ -1,9 +1,26 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.projections.CurvePointSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.List;
 
-public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
+public interface CurvePointRepository extends JpaRepository<CurvePoint, Long> {
+    Slice<CurvePoint> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CurvePointSummary> findAllProjectedBy(Sort sort);
+
+    List<CurvePointSummary> findByCurveIdAndAsOfDateOrderByTermAsc(Integer curveId, Timestamp asOfDate);
+
+    List<CurvePointSummary> findByCurveIdAndAsOfDateIsNullOrderByTermAsc(Integer curveId);
 }
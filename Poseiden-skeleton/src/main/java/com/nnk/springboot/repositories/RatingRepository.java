@@ -1,8 +1,27 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.repositories.projections.RatingSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface RatingRepository extends JpaRepository<Rating, Integer> {
+import javax.persistence.QueryHint;
+import java.util.List;
 
+public interface RatingRepository extends JpaRepository<Rating, Long> {
+    Slice<Rating> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RatingSummary> findAllProjectedBy(Sort sort);
+
+    /**
+     * Whole table, read by RatingIndexService.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Rating> findAll();
 }
@@ -1,8 +1,21 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.repositories.projections.RuleNameSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 
-public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+
+public interface RuleNameRepository extends JpaRepository<RuleName, Long> {
+    Slice<RuleName> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RuleNameSummary> findAllProjectedBy(Sort sort);
 }
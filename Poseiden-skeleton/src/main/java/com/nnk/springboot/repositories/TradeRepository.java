@@ -1,8 +1,68 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.projections.PositionTotals;
+import com.nnk.springboot.repositories.projections.TradeSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
+
+public interface TradeRepository extends JpaRepository<Trade, Long> {
+    Slice<Trade> findAllBy(Pageable pageable);
+
+    List<TradeSummary> findAllProjectedBy(Sort sort);
+
+    /**
+     * Whole table in id order for exports; rows are fetched from the server 1000 at a time (MySQL needs
+     * useCursorFetch=true on the connection) and loaded read-only. Must be consumed inside a transaction
+     * and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Trade t order by t.tradeId")
+    Stream<Trade> streamAll();
+
+    /**
+     * One pass GROUP BY used to seed PositionService; missing quantities and prices count as zero.
+     */
+    @Query("select t.account as account, t.book as book, t.security as security, " +
+            "sum(coalesce(t.buyQuantity, 0)) as buyQuantity, sum(coalesce(t.sellQuantity, 0)) as sellQuantity, " +
+            "sum(coalesce(t.buyQuantity, 0) * coalesce(t.buyPrice, 0)) as buyNotional, " +
+            "sum(coalesce(t.sellQuantity, 0) * coalesce(t.sellPrice, 0)) as sellNotional, " +
+            "count(t) as tradeCount from Trade t group by t.account, t.book, t.security")
+    List<PositionTotals> findPositionTotals();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Trade t where t.tradeId in :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Trade t where (:status is null or t.status = :status) and (:book is null or t.book = :book)")
+    int bulkDeleteByFilter(@Param("status") String status, @Param("book") String book);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trade t set t.status = :value, t.revisionDate = :revisionDate where t.tradeId in :ids")
+    int bulkUpdateStatusByIds(@Param("ids") Collection<Long> ids, @Param("value") String value,
+                              @Param("revisionDate") Timestamp revisionDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trade t set t.status = :value, t.revisionDate = :revisionDate " +
+            "where (:status is null or t.status = :status) and (:book is null or t.book = :book)")
+    int bulkUpdateStatusByFilter(@Param("status") String status, @Param("book") String book, @Param("value") String value,
+                                 @Param("revisionDate") Timestamp revisionDate);
 }
@@ -0,0 +1,8 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * Columns read by the risk summary, built with a JPQL constructor expression (no proxy per row).
+ */
+public record BidListRiskRow(Long bidListId, String book, String trader, Double bid, Double ask,
+                             Double bidQuantity, Double askQuantity) {
+}
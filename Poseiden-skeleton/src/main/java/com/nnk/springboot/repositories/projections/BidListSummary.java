@@ -0,0 +1,20 @@
+package com.nnk.springboot.repositories.projections;
+
+import java.sql.Timestamp;
+
+/**
+ * Columns rendered by bidList/list.html.
+ */
+public interface BidListSummary {
+    Long getBidListId();
+
+    String getAccount();
+
+    String getType();
+
+    Double getBidQuantity();
+
+    String getBook();
+
+    Timestamp getBidListDate();
+}
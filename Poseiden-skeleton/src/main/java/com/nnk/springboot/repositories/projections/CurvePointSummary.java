@@ -0,0 +1,14 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * Columns rendered by curvePoint/list.html.
+ */
+public interface CurvePointSummary {
+    Long getId();
+
+    Integer getCurveId();
+
+    Double getTerm();
+
+    Double getValue();
+}
@@ -0,0 +1,22 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * Per account/book/security trade totals, see TradeRepository#findPositionTotals.
+ */
+public interface PositionTotals {
+    String getAccount();
+
+    String getBook();
+
+    String getSecurity();
+
+    Double getBuyQuantity();
+
+    Double getSellQuantity();
+
+    Double getBuyNotional();
+
+    Double getSellNotional();
+
+    Long getTradeCount();
+}
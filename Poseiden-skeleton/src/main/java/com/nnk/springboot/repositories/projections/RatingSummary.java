@@ -0,0 +1,16 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * Columns rendered by rating/list.html.
+ */
+public interface RatingSummary {
+    Long getId();
+
+    String getMoodysRating();
+
+    String getSandPRating();
+
+    String getFitchRating();
+
+    Integer getOrderNumber();
+}
@@ -0,0 +1,20 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * Columns rendered by ruleName/list.html.
+ */
+public interface RuleNameSummary {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getJson();
+
+    String getTemplate();
+
+    String getSqlStr();
+
+    String getSqlPart();
+}
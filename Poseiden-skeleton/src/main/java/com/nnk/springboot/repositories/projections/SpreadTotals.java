@@ -0,0 +1,36 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * SQL aggregate counterpart of SpreadAccumulator, see BidListRepository#findSpreadTotalsByBook.
+ */
+public interface SpreadTotals {
+    String getGroupKey();
+
+    Long getRowCount();
+
+    Long getBidCount();
+
+    Long getAskCount();
+
+    Long getQuotedCount();
+
+    Double getSumBid();
+
+    Double getSumAsk();
+
+    Double getBidQuantity();
+
+    Double getAskQuantity();
+
+    Double getPricedBidQuantity();
+
+    Double getPricedAskQuantity();
+
+    Double getBidNotional();
+
+    Double getAskNotional();
+
+    Double getSumSpread();
+
+    Double getSumMid();
+}
@@ -0,0 +1,14 @@
+package com.nnk.springboot.repositories.projections;
+
+/**
+ * Columns rendered by trade/list.html.
+ */
+public interface TradeSummary {
+    Long getTradeId();
+
+    String getAccount();
+
+    String getType();
+
+    Double getBuyQuantity();
+}
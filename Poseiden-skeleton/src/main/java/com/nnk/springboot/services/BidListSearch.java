@@ -0,0 +1,27 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * BidList search form, empty fields are ignored. Dates bound the bid list date, {@code text} is searched in the
+ * commentary.
+ */
+public record BidListSearch(String account, String security, String trader, String book, String status,
+                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                            String text) {
+
+    public Specification<BidList> specification() {
+        return Specification.<BidList>where(SearchSpecifications.equal("account", account))
+                .and(SearchSpecifications.equal("security", security))
+                .and(SearchSpecifications.equal("trader", trader))
+                .and(SearchSpecifications.equal("book", book))
+                .and(SearchSpecifications.equal("status", status))
+                .and(SearchSpecifications.between("bidListDate", from, to))
+                .and(SearchSpecifications.contains("commentary", text));
+    }
+}
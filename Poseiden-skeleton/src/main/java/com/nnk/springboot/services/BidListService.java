@@ -0,0 +1,200 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.events.BidListChangedEvent;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.projections.BidListSummary;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class BidListService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Returns the page following the cursor ({@code after}, {@code afterId}); a null {@code afterId} means the
+     * first page. One extra row is fetched to know whether a next page exists, no count query is issued. Rows are
+     * read-only projections, nothing is attached to the persistence context. Throws IllegalArgumentException
+     * when {@code after} is not a value of the sort column.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<BidListSummary> findPage(BidListSort sort, String after, Long afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        boolean firstPage = afterId == null;
+        long lastId = firstPage ? 0L : afterId;
+        boolean afterNull = !StringUtils.hasLength(after);
+
+        List<BidListSummary> rows = switch (sort) {
+            case ID -> bidListRepository.findPageAfterId(lastId, limit);
+            case ACCOUNT -> afterNull
+                    ? pageAfterBlankAccount(lastId, pageSize + 1)
+                    : bidListRepository.findPageAfterAccount(after, lastId, limit);
+            case BOOK -> firstPage || afterNull
+                    ? bidListRepository.findPageAfterNullBook(lastId, limit)
+                    : bidListRepository.findPageAfterBook(after, lastId, limit);
+            case BID_LIST_DATE -> firstPage || afterNull
+                    ? bidListRepository.findPageAfterNullBidListDate(lastId, limit)
+                    : bidListRepository.findPageAfterBidListDate(cursorDate(after), lastId, limit);
+        };
+
+        boolean hasNext = rows.size() > pageSize;
+        List<BidListSummary> content = hasNext ? rows.subList(0, pageSize) : rows;
+        if (content.isEmpty()) {
+            return new KeysetPage<>(content, pageSize, false, null, null);
+        }
+        BidListSummary last = content.get(content.size() - 1);
+        return new KeysetPage<>(content, pageSize, hasNext, cursorValue(sort, last), last.getBidListId());
+    }
+
+    /**
+     * Newest first, see SearchService for the paging.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<BidList> search(BidListSearch search, SearchCursor after, SearchCursor before, int size) {
+        return searchService.search(BidList.class, search.specification(), "bidListDate", "bidListId", after, before, size);
+    }
+
+    @Transactional(readOnly = true)
+    public BidList findById(Long id) {
+        return bidListRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid bid Id:" + id));
+    }
+
+    @Transactional
+    public BidList save(BidList bidList) {
+        bidList.setBidListId(null);
+        bidList.setCreationDate(new Timestamp(System.currentTimeMillis()));
+        BidList saved = bidListRepository.save(bidList);
+        eventPublisher.publishEvent(new BidListChangedEvent(ChangeType.CREATED, null, saved));
+        return saved;
+    }
+
+    @Transactional
+    public BidList update(Long id, BidList bidList) {
+        BidList existing = findById(id);
+        BidList previous = new BidList();
+        BeanUtils.copyProperties(existing, previous);
+
+        bidList.setBidListId(id);
+        bidList.setCreationName(existing.getCreationName());
+        bidList.setCreationDate(existing.getCreationDate());
+        bidList.setRevisionDate(new Timestamp(System.currentTimeMillis()));
+        BidList saved = bidListRepository.save(bidList);
+        eventPublisher.publishEvent(new BidListChangedEvent(ChangeType.UPDATED, previous, saved));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        BidList bidList = findById(id);
+        bidListRepository.delete(bidList);
+        eventPublisher.publishEvent(new BidListChangedEvent(ChangeType.DELETED, bidList, null));
+    }
+
+    /**
+     * Single DELETE statement whatever the number of ids, no row is loaded. Returns the number of rows deleted.
+     */
+    @Transactional
+    public int deleteAll(Collection<Long> ids) {
+        return bulkChanged(ChangeType.DELETED, ids.isEmpty() ? 0 : bidListRepository.bulkDeleteByIds(ids));
+    }
+
+    @Transactional
+    public int deleteMatching(BulkFilter filter) {
+        return bulkChanged(ChangeType.DELETED, bidListRepository.bulkDeleteByFilter(filter.status(), filter.book()));
+    }
+
+    @Transactional
+    public int updateStatus(Collection<Long> ids, String status) {
+        return bulkChanged(ChangeType.UPDATED, ids.isEmpty() ? 0
+                : bidListRepository.bulkUpdateStatusByIds(ids, status, new Timestamp(System.currentTimeMillis())));
+    }
+
+    @Transactional
+    public int updateStatusMatching(BulkFilter filter, String status) {
+        return bulkChanged(ChangeType.UPDATED, bidListRepository.bulkUpdateStatusByFilter(filter.status(), filter.book(),
+                status, new Timestamp(System.currentTimeMillis())));
+    }
+
+    public ImportReport importFile(InputStream input, ImportFormat format) throws IOException {
+        return bulkImportService.importRows(input, format, BidList.class, bidListRepository,
+                bidList -> bidList.setBidListId(null),
+                bidList -> eventPublisher.publishEvent(new BidListChangedEvent(ChangeType.CREATED, null, bidList)));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream output) throws IOException {
+        try (Stream<BidList> rows = bidListRepository.streamAll()) {
+            csvExportService.write(rows, BidList.class, output);
+        }
+    }
+
+    private int bulkChanged(ChangeType type, int rows) {
+        if (rows > 0) {
+            eventPublisher.publishEvent(new BulkChangedEvent(BidList.class, type, rows));
+        }
+        return rows;
+    }
+
+    /**
+     * The rows without account after the given id, completed with the first accounts when they run out.
+     */
+    private List<BidListSummary> pageAfterBlankAccount(long afterId, int limit) {
+        List<BidListSummary> rows = new ArrayList<>(
+                bidListRepository.findPageAfterBlankAccount(afterId, PageRequest.of(0, limit)));
+        if (rows.size() < limit) {
+            rows.addAll(bidListRepository.findPageAfterAccount("", Long.MAX_VALUE,
+                    PageRequest.of(0, limit - rows.size())));
+        }
+        return rows;
+    }
+
+    private static Timestamp cursorDate(String after) {
+        try {
+            return Timestamp.valueOf(after);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid bidListDate cursor: " + after);
+        }
+    }
+
+    private static String cursorValue(BidListSort sort, BidListSummary bidList) {
+        return switch (sort) {
+            case ID -> null;
+            case ACCOUNT -> bidList.getAccount();
+            case BOOK -> bidList.getBook();
+            case BID_LIST_DATE -> bidList.getBidListDate() == null ? null : bidList.getBidListDate().toString();
+        };
+    }
+}
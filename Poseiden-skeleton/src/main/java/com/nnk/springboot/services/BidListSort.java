@@ -0,0 +1,8 @@
+package com.nnk.springboot.services;
+
+public enum BidListSort {
+    ID,
+    BID_LIST_DATE,
+    ACCOUNT,
+    BOOK
+}
@@ -0,0 +1,40 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latest state of one list row sent to the blotters: the text of each cell, keyed by the {@code data-field} of
+ * the list page column, or {@code deleted}. Cells are rendered as Thymeleaf renders them (String.valueOf).
+ */
+public record BlotterRow(long id, boolean deleted, Map<String, String> values) {
+
+    public static BlotterRow of(Trade trade) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("account", text(trade.getAccount()));
+        values.put("type", text(trade.getType()));
+        values.put("buyQuantity", text(trade.getBuyQuantity()));
+        return new BlotterRow(trade.getTradeId(), false, values);
+    }
+
+    public static BlotterRow of(BidList bidList) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("account", text(bidList.getAccount()));
+        values.put("type", text(bidList.getType()));
+        values.put("bidQuantity", text(bidList.getBidQuantity()));
+        values.put("book", text(bidList.getBook()));
+        values.put("bidListDate", text(bidList.getBidListDate()));
+        return new BlotterRow(bidList.getBidListId(), false, values);
+    }
+
+    public static BlotterRow deleted(long id) {
+        return new BlotterRow(id, true, Map.of());
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+}
@@ -0,0 +1,275 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BidListChangedEvent;
+import com.nnk.springboot.events.BidListFilledEvent;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.TradeChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent events pushing committed Trade and BidList changes to the open list pages. Changes are coalesced
+ * per row: every interval, the latest state of each changed row is serialized once into a single message sent to
+ * every subscriber of the topic. Bulk deletes, which don't say which rows they removed, send a reload.
+ * <p>
+ * Each subscriber has its own outbox and its own sender thread (started when there is something to send, gone
+ * after a while idle), so that a browser that stops reading only blocks its own sends: one that lets max-pending
+ * messages pile up is disconnected, and reloads its page when its EventSource reconnects. A heartbeat comment
+ * keeps idle connections open through proxies.
+ */
+@Service
+public class BlotterService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(BlotterService.class);
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+    private static final Duration SENDER_KEEP_ALIVE = Duration.ofSeconds(30);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.blotter.max-pending:16}")
+    private int maxPending;
+
+    @Value("${app.blotter.timeout:30m}")
+    private Duration timeout;
+
+    private final Map<BlotterTopic, Map<Long, BlotterRow>> changed = new EnumMap<>(BlotterTopic.class);
+    private final Map<BlotterTopic, AtomicBoolean> reload = new EnumMap<>(BlotterTopic.class);
+    private final Map<BlotterTopic, List<Subscriber>> subscribers = new EnumMap<>(BlotterTopic.class);
+    private final ScheduledExecutorService flusher;
+    private final ThreadFactory senderThreads = new CustomizableThreadFactory("blotter-sender-");
+    private long lastHeartbeat = System.nanoTime();
+
+    public BlotterService(@Value("${app.blotter.interval:250ms}") Duration interval) {
+        for (BlotterTopic topic : BlotterTopic.values()) {
+            changed.put(topic, new ConcurrentHashMap<>());
+            reload.put(topic, new AtomicBoolean());
+            subscribers.put(topic, new CopyOnWriteArrayList<>());
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("blotter-flush-"));
+        this.flusher.scheduleWithFixedDelay(this::flush, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(BlotterTopic topic) {
+        return subscribe(topic, new SseEmitter(timeout.toMillis()));
+    }
+
+    /**
+     * Streams the topic to the given emitter and returns it.
+     */
+    public SseEmitter subscribe(BlotterTopic topic, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.get(topic).add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount(BlotterTopic topic) {
+        return subscribers.get(topic).size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent event) {
+        if (event.current() != null) {
+            changed(BlotterTopic.TRADES, BlotterRow.of(event.current()));
+        } else {
+            changed(BlotterTopic.TRADES, BlotterRow.deleted(event.previous().getTradeId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListChanged(BidListChangedEvent event) {
+        if (event.current() != null) {
+            changed(BlotterTopic.BID_LISTS, BlotterRow.of(event.current()));
+        } else {
+            changed(BlotterTopic.BID_LISTS, BlotterRow.deleted(event.previous().getBidListId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListFilled(BidListFilledEvent event) {
+        for (BidList bidList : event.filled()) {
+            changed(BlotterTopic.BID_LISTS, BlotterRow.of(bidList));
+        }
+    }
+
+    /**
+     * Bulk status updates leave the listed columns unchanged, bulk deletes need a reload.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        if (event.entity() == Trade.class) {
+            reload.get(BlotterTopic.TRADES).set(true);
+        } else if (event.entity() == BidList.class) {
+            reload.get(BlotterTopic.BID_LISTS).set(true);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdownNow();
+        for (List<Subscriber> topicSubscribers : subscribers.values()) {
+            topicSubscribers.forEach(Subscriber::drop);
+        }
+    }
+
+    private void changed(BlotterTopic topic, BlotterRow row) {
+        // nobody to tell: the next page load reads the table anyway
+        if (!subscribers.get(topic).isEmpty()) {
+            changed.get(topic).put(row.id(), row);
+        }
+    }
+
+    // runs on the flusher thread only; any exception would cancel the next runs
+    private void flush() {
+        try {
+            boolean heartbeat = System.nanoTime() - lastHeartbeat >= HEARTBEAT.toNanos();
+            for (BlotterTopic topic : BlotterTopic.values()) {
+                Message message = message(topic);
+                if (message == null && heartbeat) {
+                    message = Message.HEARTBEAT;
+                }
+                if (message != null) {
+                    for (Subscriber subscriber : subscribers.get(topic)) {
+                        subscriber.offer(message);
+                    }
+                }
+            }
+            if (heartbeat) {
+                lastHeartbeat = System.nanoTime();
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not flush blotter changes", e);
+        }
+    }
+
+    private Message message(BlotterTopic topic) throws JsonProcessingException {
+        Map<Long, BlotterRow> rows = changed.get(topic);
+        if (reload.get(topic).getAndSet(false)) {
+            // the reloaded pages read every change made so far
+            rows.clear();
+            return Message.RELOAD;
+        }
+        List<BlotterRow> batch = new ArrayList<>();
+        for (Long id : rows.keySet()) {
+            BlotterRow row = rows.remove(id);
+            if (row != null) {
+                batch.add(row);
+            }
+        }
+        return batch.isEmpty() ? null : new Message("rows", objectMapper.writeValueAsString(batch));
+    }
+
+    /**
+     * {@code name} null for a heartbeat comment.
+     */
+    private record Message(String name, String data) {
+        private static final Message HEARTBEAT = new Message(null, null);
+        private static final Message RELOAD = new Message("reload", "{}");
+    }
+
+    private final class Subscriber {
+        private final BlotterTopic topic;
+        private final SseEmitter emitter;
+        private final Queue<Message> outbox = new ArrayDeque<>();
+        // at most one thread, stopped once idle for SENDER_KEEP_ALIVE
+        private final ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, SENDER_KEEP_ALIVE.toMillis(),
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), senderThreads);
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(BlotterTopic topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+            sender.allowCoreThreadTimeOut(true);
+        }
+
+        private synchronized void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            if (outbox.size() >= maxPending) {
+                log.debug("Dropping slow {} blotter subscriber", topic);
+                drop();
+                return;
+            }
+            outbox.add(message);
+            if (!sending) {
+                sending = true;
+                sender.execute(this::send);
+            }
+        }
+
+        private void send() {
+            while (true) {
+                Message message;
+                synchronized (this) {
+                    message = outbox.poll();
+                    if (message == null || closed) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(message.name() == null ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // the browser went away
+                    close();
+                    return;
+                }
+            }
+        }
+
+        // completed by its own sender: the emitter lock may be held by a send blocked on the slow connection
+        private synchronized void drop() {
+            if (!sender.isShutdown()) {
+                sender.execute(emitter::complete);
+            }
+            close();
+        }
+
+        private synchronized void close() {
+            closed = true;
+            outbox.clear();
+            subscribers.get(topic).remove(this);
+            sender.shutdown();
+        }
+    }
+}
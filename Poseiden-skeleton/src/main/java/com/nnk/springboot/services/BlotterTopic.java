@@ -0,0 +1,9 @@
+package com.nnk.springboot.services;
+
+/**
+ * Live blotters: the trade list and the bid list pages.
+ */
+public enum BlotterTopic {
+    TRADES,
+    BID_LISTS
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+/**
+ * Rows selected by a bulk operation; null criteria match any value, but at least one must be given.
+ */
+public record BulkFilter(String status, String book) {
+    public BulkFilter {
+        if (status == null && book == null) {
+            throw new IllegalArgumentException("A status or a book is required");
+        }
+    }
+}
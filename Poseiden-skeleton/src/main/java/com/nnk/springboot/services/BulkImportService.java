@@ -0,0 +1,142 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an uploaded CSV or JSON array row by row, validates each row with its bean constraints and persists
+ * valid rows in chunks, one transaction per chunk. Inserts inside a chunk go out as JDBC batches
+ * (hibernate.jdbc.batch_size). A chunk that fails to commit is replayed row by row so a single bad row only
+ * rejects itself.
+ */
+@Service
+public class BulkImportService {
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * @param clearId   resets the id read from the file, imported rows are always inserted
+     * @param afterSave called for each saved row inside its transaction (e.g. to publish change events)
+     */
+    public <T> ImportReport importRows(InputStream input, ImportFormat format, Class<T> type,
+                                       JpaRepository<T, ?> repository, Consumer<T> clearId,
+                                       Consumer<T> afterSave) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+        long row = 0;
+        long imported = 0;
+
+        try (MappingIterator<T> rows = reader(format, type).readValues(input)) {
+            while (true) {
+                T value;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    value = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    errors.add(new ImportReport.RowError(row, e.getOriginalMessage()));
+                    continue;
+                }
+                clearId.accept(value);
+                Set<ConstraintViolation<T>> violations = validator.validate(value);
+                if (!violations.isEmpty()) {
+                    errors.add(new ImportReport.RowError(row, violations.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", "))));
+                    continue;
+                }
+                chunk.add(value);
+                chunkRows.add(row);
+                if (chunk.size() == chunkSize) {
+                    imported += persist(transaction, repository, clearId, afterSave, chunk, chunkRows, errors);
+                    chunk.clear();
+                    chunkRows.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += persist(transaction, repository, clearId, afterSave, chunk, chunkRows, errors);
+        }
+        return new ImportReport(imported, errors.size(), errors);
+    }
+
+    private <T> ObjectReader reader(ImportFormat format, Class<T> type) {
+        if (format == ImportFormat.CSV) {
+            return csvMapper.readerFor(type).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(type);
+    }
+
+    private <T> long persist(TransactionTemplate transaction, JpaRepository<T, ?> repository, Consumer<T> clearId,
+                             Consumer<T> afterSave, List<T> chunk, List<Long> chunkRows,
+                             List<ImportReport.RowError> errors) {
+        try {
+            transaction.executeWithoutResult(status -> saveAndClear(repository, afterSave, chunk));
+            return chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            long saved = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                T value = chunk.get(i);
+                // ids handed out by the rolled back chunk are not reused
+                clearId.accept(value);
+                try {
+                    transaction.executeWithoutResult(status -> saveAndClear(repository, afterSave, List.of(value)));
+                    saved++;
+                } catch (RuntimeException rowFailure) {
+                    errors.add(new ImportReport.RowError(chunkRows.get(i),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                }
+            }
+            return saved;
+        }
+    }
+
+    private <T> void saveAndClear(JpaRepository<T, ?> repository, Consumer<T> afterSave, List<T> values) {
+        repository.saveAll(values).forEach(afterSave);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+}
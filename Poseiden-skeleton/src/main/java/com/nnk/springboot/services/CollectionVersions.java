@@ -0,0 +1,93 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.events.BidListChangedEvent;
+import com.nnk.springboot.events.BidListFilledEvent;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.events.CurvePointChangedEvent;
+import com.nnk.springboot.events.RatingChangedEvent;
+import com.nnk.springboot.events.RuleNameChangedEvent;
+import com.nnk.springboot.events.TradeChangedEvent;
+import com.nnk.springboot.events.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counter per entity type, bumped after each committed change published by the services. The ETag
+ * of a collection is derived from it, so an unchanged collection is answered without query nor serialization.
+ * Counters live in this JVM: changes made directly in the database or by another instance are not seen, and
+ * the boot time is part of the ETag so that tags never survive a restart.
+ */
+@Component
+public class CollectionVersions {
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long version(Class<?> entity) {
+        return counter(entity).get();
+    }
+
+    /**
+     * Weak ETag: the same version is served gzipped or not.
+     */
+    public String etag(Class<?> entity) {
+        return "W/\"" + instance + "-" + version(entity) + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListChanged(BidListChangedEvent event) {
+        bump(BidList.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeChanged(TradeChangedEvent event) {
+        bump(Trade.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidListFilled(BidListFilledEvent event) {
+        bump(BidList.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurvePointChanged(CurvePointChangedEvent event) {
+        bump(CurvePoint.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        bump(Rating.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleNameChanged(RuleNameChangedEvent event) {
+        bump(RuleName.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        bump(User.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        bump(event.entity());
+    }
+
+    private void bump(Class<?> entity) {
+        counter(entity).incrementAndGet();
+    }
+
+    private AtomicLong counter(Class<?> entity) {
+        return versions.computeIfAbsent(entity, key -> new AtomicLong());
+    }
+}
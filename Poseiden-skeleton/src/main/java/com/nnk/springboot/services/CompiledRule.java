@@ -0,0 +1,18 @@
+package com.nnk.springboot.services;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A RuleName compiled for one row type, see RuleEngine. Thread-safe.
+ */
+public interface CompiledRule<T> {
+    Long id();
+
+    String name();
+
+    /**
+     * Bit i is set when rows.get(i) satisfies the rule.
+     */
+    BitSet match(List<T> rows);
+}
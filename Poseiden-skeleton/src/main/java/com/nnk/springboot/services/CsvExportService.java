@@ -0,0 +1,43 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository stream as CSV (header line with the property names, same layout as the bulk import).
+ * Each entity is detached once written so the persistence context does not grow with the row count; callers
+ * must run inside a read-only transaction for the stream to stay open.
+ */
+@Service
+public class CsvExportService {
+    // the response stream belongs to the caller, the writer must not close it
+    private final CsvMapper csvMapper = CsvMapper.builder().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> long write(Stream<T> rows, Class<T> type, OutputStream output) throws IOException {
+        CsvSchema schema = csvMapper.schemaFor(type).withHeader();
+        long count = 0;
+        try (SequenceWriter writer = csvMapper.writer(schema).writeValues(output)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                writer.write(row);
+                entityManager.detach(row);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,5 @@
+package com.nnk.springboot.services;
+
+public record CurveCacheStats(long version, int curves, long points, long maxPoints,
+                              long hits, long misses, long evictions) {
+}
@@ -0,0 +1,18 @@
+package com.nnk.springboot.services;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Identifies one curve snapshot; a null asOfDate stands for the points stored without as of date.
+ */
+public record CurveKey(int curveId, Instant asOfDate) {
+
+    public static CurveKey of(Integer curveId, Timestamp asOfDate) {
+        return new CurveKey(curveId, asOfDate == null ? null : asOfDate.toInstant());
+    }
+
+    public Timestamp asOfTimestamp() {
+        return asOfDate == null ? null : Timestamp.from(asOfDate);
+    }
+}
@@ -0,0 +1,66 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.CurvePointChangedEvent;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.projections.CurvePointSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Service
+public class CurvePointService {
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<CurvePointSummary> findAllSummaries() {
+        return curvePointRepository.findAllProjectedBy(Sort.by("id"));
+    }
+
+    @Transactional(readOnly = true)
+    public CurvePoint findById(Long id) {
+        return curvePointRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid curvePoint Id:" + id));
+    }
+
+    @Transactional
+    public CurvePoint save(CurvePoint curvePoint) {
+        curvePoint.setId(null);
+        curvePoint.setCreationDate(new Timestamp(System.currentTimeMillis()));
+        CurvePoint saved = curvePointRepository.save(curvePoint);
+        eventPublisher.publishEvent(new CurvePointChangedEvent(ChangeType.CREATED, saved.getCurveId(), saved.getAsOfDate(),
+                saved.getCurveId(), saved.getAsOfDate()));
+        return saved;
+    }
+
+    @Transactional
+    public CurvePoint update(Long id, CurvePoint curvePoint) {
+        CurvePoint existing = findById(id);
+        Integer previousCurveId = existing.getCurveId();
+        Timestamp previousAsOfDate = existing.getAsOfDate();
+
+        curvePoint.setId(id);
+        curvePoint.setCreationDate(existing.getCreationDate());
+        CurvePoint saved = curvePointRepository.save(curvePoint);
+        eventPublisher.publishEvent(new CurvePointChangedEvent(ChangeType.UPDATED, saved.getCurveId(), saved.getAsOfDate(),
+                previousCurveId, previousAsOfDate));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        CurvePoint curvePoint = findById(id);
+        curvePointRepository.delete(curvePoint);
+        eventPublisher.publishEvent(new CurvePointChangedEvent(ChangeType.DELETED, curvePoint.getCurveId(),
+                curvePoint.getAsOfDate(), curvePoint.getCurveId(), curvePoint.getAsOfDate()));
+    }
+}
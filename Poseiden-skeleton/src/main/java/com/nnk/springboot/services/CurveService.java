@@ -0,0 +1,67 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.events.CurvePointChangedEvent;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.projections.CurvePointSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Serves curve snapshots per (CurveId, asOfDate) from the CurveSnapshotCache, loading a curve's points on
+ * first use. When a point is written, only the snapshots it belonged to before and after the change are
+ * invalidated, once the write has committed.
+ */
+@Service
+public class CurveService {
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private CurveSnapshotCache curveSnapshotCache;
+
+    @TransactionalEventListener
+    public void onCurvePointChanged(CurvePointChangedEvent event) {
+        invalidate(event.curveId(), event.asOfDate());
+        if (!Objects.equals(event.previousCurveId(), event.curveId())
+                || !Objects.equals(event.previousAsOfDate(), event.asOfDate())) {
+            invalidate(event.previousCurveId(), event.previousAsOfDate());
+        }
+    }
+
+    public Optional<CurveSnapshot> findCurve(int curveId, Timestamp asOfDate) {
+        return Optional.ofNullable(curveSnapshotCache.get(CurveKey.of(curveId, asOfDate), this::load));
+    }
+
+    public CurveCacheStats cacheStats() {
+        return curveSnapshotCache.stats();
+    }
+
+    private void invalidate(Integer curveId, Timestamp asOfDate) {
+        if (curveId != null) {
+            curveSnapshotCache.invalidate(CurveKey.of(curveId, asOfDate));
+        }
+    }
+
+    private CurveSnapshot load(CurveKey key) {
+        List<CurvePointSummary> points = key.asOfDate() == null
+                ? curvePointRepository.findByCurveIdAndAsOfDateIsNullOrderByTermAsc(key.curveId())
+                : curvePointRepository.findByCurveIdAndAsOfDateOrderByTermAsc(key.curveId(), key.asOfTimestamp());
+        double[] terms = new double[points.size()];
+        double[] values = new double[points.size()];
+        int length = 0;
+        for (CurvePointSummary point : points) {
+            if (point.getTerm() != null && point.getValue() != null) {
+                terms[length] = point.getTerm();
+                values[length] = point.getValue();
+                length++;
+            }
+        }
+        return length == 0 ? null : CurveSnapshot.of(key.curveId(), terms, values, length);
+    }
+}
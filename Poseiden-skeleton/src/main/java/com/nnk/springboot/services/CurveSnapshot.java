@@ -0,0 +1,111 @@
+package com.nnk.springboot.services;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, interpolation-ready view of one curve: terms sorted ascending in a primitive array, values at
+ * the same index and the second derivatives of the natural cubic spline through them, computed once at build
+ * time. Lookups are a binary search on the terms; outside the first/last term the curve is extended flat.
+ */
+public final class CurveSnapshot {
+    private final int curveId;
+    private final double[] terms;
+    private final double[] values;
+    private final double[] secondDerivatives;
+
+    private CurveSnapshot(int curveId, double[] terms, double[] values) {
+        this.curveId = curveId;
+        this.terms = terms;
+        this.values = values;
+        this.secondDerivatives = naturalSplineSecondDerivatives(terms, values);
+    }
+
+    /**
+     * @param terms  the first {@code length} entries sorted ascending; a term given twice keeps its last value
+     * @param length number of points, at least one
+     */
+    public static CurveSnapshot of(int curveId, double[] terms, double[] values, int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Curve " + curveId + " has no point");
+        }
+        double[] distinctTerms = new double[length];
+        double[] distinctValues = new double[length];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (count > 0 && terms[i] == distinctTerms[count - 1]) {
+                distinctValues[count - 1] = values[i];
+            } else {
+                distinctTerms[count] = terms[i];
+                distinctValues[count] = values[i];
+                count++;
+            }
+        }
+        return new CurveSnapshot(curveId, Arrays.copyOf(distinctTerms, count), Arrays.copyOf(distinctValues, count));
+    }
+
+    public int getCurveId() {
+        return curveId;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double interpolate(double term, InterpolationMethod method) {
+        int last = terms.length - 1;
+        if (Double.isNaN(term)) {
+            return Double.NaN;
+        }
+        if (term <= terms[0]) {
+            return values[0];
+        }
+        if (term >= terms[last]) {
+            return values[last];
+        }
+        int index = Arrays.binarySearch(terms, term);
+        if (index >= 0) {
+            return values[index];
+        }
+        int hi = -index - 1;
+        int lo = hi - 1;
+        double h = terms[hi] - terms[lo];
+        double a = (terms[hi] - term) / h;
+        double b = (term - terms[lo]) / h;
+        double linear = a * values[lo] + b * values[hi];
+        if (method == InterpolationMethod.LINEAR) {
+            return linear;
+        }
+        return linear + ((a * a * a - a) * secondDerivatives[lo] + (b * b * b - b) * secondDerivatives[hi]) * (h * h) / 6.0;
+    }
+
+    public double[] interpolate(double[] requestedTerms, InterpolationMethod method) {
+        double[] result = new double[requestedTerms.length];
+        for (int i = 0; i < requestedTerms.length; i++) {
+            result[i] = interpolate(requestedTerms[i], method);
+        }
+        return result;
+    }
+
+    /**
+     * Tridiagonal solve for the natural spline (zero curvature at both ends).
+     */
+    private static double[] naturalSplineSecondDerivatives(double[] x, double[] y) {
+        int n = x.length;
+        double[] y2 = new double[n];
+        if (n < 3) {
+            return y2;
+        }
+        double[] u = new double[n];
+        for (int i = 1; i < n - 1; i++) {
+            double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+            double p = sig * y2[i - 1] + 2.0;
+            y2[i] = (sig - 1.0) / p;
+            double slopes = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+            u[i] = (6.0 * slopes / (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+        }
+        for (int k = n - 2; k >= 0; k--) {
+            y2[k] = y2[k] * y2[k + 1] + u[k];
+        }
+        return y2;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nnk.springboot.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Copy-on-write cache of curve snapshots. Readers only dereference the current immutable state, they never
+ * lock; loads and invalidations build a new map and publish it with a compare-and-set, each published state
+ * getting the next version number. The cache is bounded by the total number of curve points it holds, the
+ * oldest loaded curves being evicted first.
+ * <p>
+ * Every invalidation publishes a new state, cached curve or not, with the invalidation count incremented: a load
+ * is only published if the state it is added to has the count read before the load started.
+ */
+@Component
+public class CurveSnapshotCache {
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, Collections.emptyMap(), 0, 0));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final long maxPoints;
+
+    public CurveSnapshotCache(@Value("${app.curves.cache.max-points:5000000}") long maxPoints) {
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * @param loader builds the snapshot on a miss, null when the curve has no point (not cached)
+     */
+    public CurveSnapshot get(CurveKey key, Function<CurveKey, CurveSnapshot> loader) {
+        State beforeLoad = state.get();
+        CurveSnapshot snapshot = beforeLoad.snapshots.get(key);
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        long invalidationsBeforeLoad = beforeLoad.invalidations;
+        snapshot = loader.apply(key);
+        if (snapshot != null && snapshot.size() <= maxPoints) {
+            publish(key, snapshot, invalidationsBeforeLoad);
+        }
+        return snapshot;
+    }
+
+    public void invalidate(CurveKey key) {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            CurveSnapshot removed = current.snapshots.get(key);
+            Map<CurveKey, CurveSnapshot> snapshots = current.snapshots;
+            long points = current.points;
+            if (removed != null) {
+                snapshots = new LinkedHashMap<>(current.snapshots);
+                snapshots.remove(key);
+                snapshots = Collections.unmodifiableMap(snapshots);
+                points -= removed.size();
+            }
+            next = new State(current.version + 1, snapshots, points, current.invalidations + 1);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    public CurveCacheStats stats() {
+        State current = state.get();
+        return new CurveCacheStats(current.version, current.snapshots.size(), current.points, maxPoints,
+                hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * A snapshot loaded while any invalidation happened may be stale, it is served but not published.
+     */
+    private void publish(CurveKey key, CurveSnapshot snapshot, long invalidationsBeforeLoad) {
+        State current;
+        State next;
+        long evicted;
+        do {
+            current = state.get();
+            if (current.invalidations != invalidationsBeforeLoad || current.snapshots.containsKey(key)) {
+                return;
+            }
+            Map<CurveKey, CurveSnapshot> snapshots = new LinkedHashMap<>(current.snapshots);
+            long points = current.points + snapshot.size();
+            evicted = 0;
+            Iterator<CurveSnapshot> oldest = snapshots.values().iterator();
+            while (points > maxPoints && oldest.hasNext()) {
+                points -= oldest.next().size();
+                oldest.remove();
+                evicted++;
+            }
+            snapshots.put(key, snapshot);
+            next = new State(current.version + 1, Collections.unmodifiableMap(snapshots), points,
+                    current.invalidations);
+        } while (!state.compareAndSet(current, next));
+        evictions.add(evicted);
+    }
+
+    private record State(long version, Map<CurveKey, CurveSnapshot> snapshots, long points, long invalidations) {
+    }
+}
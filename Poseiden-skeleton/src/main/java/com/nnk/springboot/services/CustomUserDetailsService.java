@@ -0,0 +1,65 @@
+package com.nnk.springboot.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nnk.springboot.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Loads users by username for authentication through a bounded, expiring cache. The cache keeps immutable
+ * copies of the account data and a new UserDetails is built on every call, because Spring Security erases the
+ * password of the UserDetails it authenticated. Roles are read as UserService stores them, a ROLE_ prefix left
+ * by older rows is dropped and a user without role logs in without authority.
+ */
+@Service
+public class CustomUserDetailsService implements UserDetailsService {
+    private final UserRepository userRepository;
+    private final Cache<String, CachedUser> users;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedUser user = users.get(username, this::load);
+        if (user == null) {
+            throw new UsernameNotFoundException("Unknown user: " + username);
+        }
+        return User.withUsername(user.username())
+                .password(user.password())
+                .roles(user.role() == null ? new String[0] : new String[]{user.role()})
+                .build();
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+
+    public void evictAll() {
+        users.invalidateAll();
+    }
+
+    private CachedUser load(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> new CachedUser(user.getUsername(), user.getPassword(),
+                        UserService.normalizeRole(user.getRole())))
+                .orElse(null);
+    }
+
+    private record CachedUser(String username, String password, String role) {
+    }
+}
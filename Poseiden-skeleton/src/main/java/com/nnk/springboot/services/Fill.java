@@ -0,0 +1,17 @@
+package com.nnk.springboot.services;
+
+/**
+ * One match between a buy and a sell order, at the price of the order that was resting in the book.
+ * {@code buyRemaining} and {@code sellRemaining} are the quantities left on each order after this fill.
+ */
+public record Fill(String security, long priceTicks, long quantity, Order buy, long buyRemaining,
+                   Order sell, long sellRemaining) {
+
+    public double price() {
+        return Order.toPrice(priceTicks);
+    }
+
+    public double quantityValue() {
+        return Order.toQuantity(quantity);
+    }
+}
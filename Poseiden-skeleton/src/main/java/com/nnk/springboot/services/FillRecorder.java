@@ -0,0 +1,111 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BidListFilledEvent;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists the fills of a match: one Trade per counterparty (sourceListId is the BidList id of its order) and
+ * the quantity left on each BidList order, FILLED or PARTIAL. Only open rows (see Order.isOpen) are filled.
+ */
+@Service
+public class FillRecorder {
+    public static final String OPEN = "OPEN";
+    public static final String FILLED = "FILLED";
+    public static final String PARTIAL = "PARTIAL";
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Called after the BidList change that triggered the match has committed, hence in a new transaction.
+     * BidList rows are updated without BidListChangedEvent so that they are not matched again.
+     * <p>
+     * The rows are locked first: when one of them has been closed, cancelled or deleted since its order was
+     * booked, nothing is recorded and the ids of those orders are returned, otherwise an empty set.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<Long> record(List<Fill> fills) {
+        Map<Long, Remaining> remaining = new LinkedHashMap<>();
+        for (Fill fill : fills) {
+            remaining.put(fill.buy().id(), new Remaining(fill.buy().side(), fill.buyRemaining()));
+            remaining.put(fill.sell().id(), new Remaining(fill.sell().side(), fill.sellRemaining()));
+        }
+        Map<Long, BidList> rows = new HashMap<>();
+        for (BidList bidList : bidListRepository.findAllForUpdate(remaining.keySet())) {
+            rows.put(bidList.getBidListId(), bidList);
+        }
+        Set<Long> closed = new HashSet<>();
+        for (Long id : remaining.keySet()) {
+            if (!rows.containsKey(id) || !Order.isOpen(rows.get(id).getStatus())) {
+                closed.add(id);
+            }
+        }
+        if (!closed.isEmpty()) {
+            return closed;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (Fill fill : fills) {
+            tradeService.save(trade(fill, fill.buy(), now));
+            tradeService.save(trade(fill, fill.sell(), now));
+        }
+        List<BidList> filled = new ArrayList<>(remaining.size());
+        for (Map.Entry<Long, Remaining> entry : remaining.entrySet()) {
+            BidList bidList = rows.get(entry.getKey());
+            double quantity = Order.toQuantity(entry.getValue().quantity());
+            if (entry.getValue().side() == OrderSide.BUY) {
+                bidList.setBidQuantity(quantity);
+            } else {
+                bidList.setAskQuantity(quantity);
+            }
+            bidList.setStatus(entry.getValue().quantity() == 0 ? FILLED : PARTIAL);
+            bidList.setRevisionDate(now);
+            filled.add(bidList);
+        }
+        eventPublisher.publishEvent(new BidListFilledEvent(filled));
+        return Set.of();
+    }
+
+    private static Trade trade(Fill fill, Order order, Timestamp now) {
+        Trade trade = new Trade(order.account(), order.type());
+        trade.setSecurity(fill.security());
+        trade.setBook(order.book());
+        trade.setTrader(order.trader());
+        trade.setSide(order.side().name());
+        trade.setSourceListId(String.valueOf(order.id()));
+        trade.setTradeDate(now);
+        if (order.side() == OrderSide.BUY) {
+            trade.setBuyQuantity(fill.quantityValue());
+            trade.setBuyPrice(fill.price());
+        } else {
+            trade.setSellQuantity(fill.quantityValue());
+            trade.setSellPrice(fill.price());
+        }
+        return trade;
+    }
+
+    private record Remaining(OrderSide side, long quantity) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.nnk.springboot.services;
+
+import org.springframework.util.StringUtils;
+
+public enum ImportFormat {
+    CSV,
+    JSON;
+
+    /**
+     * CSV when the upload is declared as such (content type or .csv extension), JSON otherwise.
+     */
+    public static ImportFormat of(String contentType, String filename) {
+        if ((contentType != null && contentType.contains("csv"))
+                || "csv".equalsIgnoreCase(StringUtils.getFilenameExtension(filename))) {
+            return CSV;
+        }
+        return JSON;
+    }
+}
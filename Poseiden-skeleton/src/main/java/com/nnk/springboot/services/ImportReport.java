@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: rows are numbered from 1 in file order (header line excluded).
+ */
+public record ImportReport(long imported, long rejected, List<RowError> errors) {
+
+    public record RowError(long row, String message) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.nnk.springboot.services;
+
+public enum InterpolationMethod {
+    LINEAR,
+    CUBIC_SPLINE
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The next page is requested with {@code nextAfter} (the sort value of
+ * the last row, {@code null} when that value was null) and {@code nextAfterId} (its id).
+ */
+public record KeysetPage<T>(List<T> content, int size, boolean hasNext, String nextAfter, Long nextAfterId) {
+}
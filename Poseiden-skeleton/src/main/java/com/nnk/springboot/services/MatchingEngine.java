@@ -0,0 +1,272 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.events.BidListChangedEvent;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Matches BidList orders per security in OrderBooks. Securities are spread over stripes, each one a single
+ * thread owning the books of its securities: a book is only touched by its stripe, so matching takes no lock
+ * and the orders of a security are matched in the order they were submitted.
+ * <p>
+ * Books are loaded from the open BidList rows at startup and then follow the committed BidList changes. An
+ * updated order is cancelled and submitted again, losing its time priority. The changes of a transaction are
+ * handed to the stripes in one task per stripe once it commits, so that neither a form nor a bulk import waits
+ * for the matching.
+ * <p>
+ * A stripe persists the fills of an order with FillRecorder before it matches the next one: if that fails the
+ * submit is undone, and the order stays out of its book (so the book never shows fills the table doesn't have)
+ * until it is updated or the books are reloaded.
+ */
+@Service
+public class MatchingEngine implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(MatchingEngine.class);
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private FillRecorder fillRecorder;
+
+    private final ExecutorService[] stripes;
+    private final List<Map<String, OrderBook>> books = new ArrayList<>();
+
+    public MatchingEngine(
+            @Value("${app.orderbook.stripes:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int stripes) {
+        this.stripes = new ExecutorService[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("matching-" + i + "-"));
+            books.add(new HashMap<>());
+        }
+    }
+
+    public CompletableFuture<List<Fill>> submit(Order order) {
+        return onStripe(order.security(), true, book -> book.submit(order));
+    }
+
+    public CompletableFuture<Boolean> cancel(String security, long orderId) {
+        return onStripe(security, false, book -> book.cancel(orderId));
+    }
+
+    public CompletableFuture<OrderBookDepth> depth(String security, int levels) {
+        return onStripe(security, false, book -> book.depth(levels));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        reload();
+    }
+
+    /**
+     * Collects the changes of the current transaction, see dispatch.
+     */
+    @EventListener
+    public void onBidListChanged(BidListChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<BidListChangedEvent> pending =
+                (List<BidListChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<BidListChangedEvent> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            // suspended with the transaction: the changes of an inner REQUIRES_NEW transaction follow its own commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(MatchingEngine.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(MatchingEngine.this, changes);
+                }
+
+                @Override
+                public void afterCommit() {
+                    dispatch(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MatchingEngine.this);
+                }
+            });
+            pending = changes;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Bulk deletes and status updates don't say which orders they removed or closed: books are reloaded from the
+     * table.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        if (event.entity() == BidList.class) {
+            reload();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the committed changes on their stripes without waiting: one task per stripe, running its cancels and
+     * submits in commit order. A change moving an order to another security cancels it on the stripe of the old
+     * one.
+     */
+    private void dispatch(List<BidListChangedEvent> changes) {
+        List<List<BookCommand>> commands = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            commands.add(new ArrayList<>());
+        }
+        for (BidListChangedEvent change : changes) {
+            Order previous = change.previous() == null ? null : Order.of(change.previous());
+            if (previous != null) {
+                commands.get(stripe(previous.security())).add(new BookCommand(previous, true));
+            }
+            Order current = change.current() == null ? null : Order.of(change.current());
+            if (current != null) {
+                commands.get(stripe(current.security())).add(new BookCommand(current, false));
+            }
+        }
+        for (int i = 0; i < stripes.length; i++) {
+            List<BookCommand> stripeCommands = commands.get(i);
+            if (!stripeCommands.isEmpty()) {
+                Map<String, OrderBook> stripeBooks = books.get(i);
+                stripes[i].execute(() -> stripeCommands.forEach(command -> run(stripeBooks, command)));
+            }
+        }
+    }
+
+    // on the stripe owning the security of the command
+    private void run(Map<String, OrderBook> stripeBooks, BookCommand command) {
+        Order order = command.order();
+        try {
+            if (command.cancel()) {
+                OrderBook book = stripeBooks.get(order.security());
+                if (book != null) {
+                    book.cancel(order.id());
+                }
+                return;
+            }
+            OrderBook book = stripeBooks.computeIfAbsent(order.security(), OrderBook::new);
+            while (true) {
+                List<Fill> fills = book.submit(order);
+                if (fills.isEmpty()) {
+                    return;
+                }
+                Set<Long> closed;
+                try {
+                    closed = fillRecorder.record(fills);
+                } catch (RuntimeException e) {
+                    book.undo(order, fills);
+                    log.error("Could not record the fills of order {} on {}, left out of the book", order.id(),
+                            order.security(), e);
+                    return;
+                }
+                if (closed.isEmpty()) {
+                    return;
+                }
+                // matched orders closed since they were booked (their cancel may still be queued): they leave the
+                // book and the order is matched again without them
+                book.undo(order, fills);
+                closed.forEach(book::cancel);
+                if (closed.contains(order.id())) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not {} order {} on {}", command.cancel() ? "cancel" : "match", order.id(),
+                    order.security(), e);
+        }
+    }
+
+    private int stripe(String security) {
+        return Math.floorMod(security.hashCode(), stripes.length);
+    }
+
+    private record BookCommand(Order order, boolean cancel) {
+    }
+
+    // orders submitted while reloading may be lost or loaded twice (then rejected by the book)
+    private synchronized void reload() {
+        forEachStripe(Map::clear);
+        int loaded = 0;
+        try (Stream<BidList> rows = bidListRepository.streamOpenOrders()) {
+            for (Iterator<BidList> iterator = rows.iterator(); iterator.hasNext(); ) {
+                Order order = Order.of(iterator.next());
+                if (order != null) {
+                    onStripe(order.security(), true, book -> {
+                        book.rest(order);
+                        return null;
+                    });
+                    loaded++;
+                }
+            }
+        }
+        // stripes run their tasks in order: once this no-op has run everywhere every order is in its book
+        forEachStripe(stripeBooks -> {
+        });
+        log.info("Loaded {} resting orders", loaded);
+    }
+
+    private void forEachStripe(Consumer<Map<String, OrderBook>> task) {
+        CompletableFuture<?>[] done = new CompletableFuture<?>[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            Map<String, OrderBook> stripeBooks = books.get(i);
+            done[i] = CompletableFuture.runAsync(() -> task.accept(stripeBooks), stripes[i]);
+        }
+        CompletableFuture.allOf(done).join();
+    }
+
+    /**
+     * Runs the command on the stripe owning the security. Without {@code create}, an unknown security is given
+     * an empty book that is not kept.
+     */
+    private <T> CompletableFuture<T> onStripe(String security, boolean create, Function<OrderBook, T> command) {
+        int stripe = stripe(security);
+        Map<String, OrderBook> stripeBooks = books.get(stripe);
+        return CompletableFuture.supplyAsync(() -> {
+            OrderBook book = create ? stripeBooks.computeIfAbsent(security, OrderBook::new) : stripeBooks.get(security);
+            return command.apply(book != null ? book : new OrderBook(security));
+        }, stripes[stripe]);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import org.springframework.util.StringUtils;
+
+/**
+ * Limit order taken from a BidList row, prices in ticks of 1/PRICE_SCALE and quantities in lots of
+ * 1/QUANTITY_SCALE so that the book works on longs only. {@code id} is the BidList id.
+ */
+public record Order(long id, String security, OrderSide side, long priceTicks, long quantity,
+                    String account, String book, String trader, String type) {
+    public static final long PRICE_SCALE = 10_000;
+    public static final long QUANTITY_SCALE = 10_000;
+
+    /**
+     * The order of a BidList row: BUY at {@code bid} for {@code bidQuantity} or SELL at {@code ask} for
+     * {@code askQuantity}. Null when the row is not an open, complete order (closed status, no id, security, side,
+     * price or quantity).
+     */
+    public static Order of(BidList bidList) {
+        OrderSide side = OrderSide.of(bidList);
+        if (side == null || bidList.getBidListId() == null || !StringUtils.hasText(bidList.getSecurity())
+                || !isOpen(bidList.getStatus())) {
+            return null;
+        }
+        Double price = side == OrderSide.BUY ? bidList.getBid() : bidList.getAsk();
+        Double quantity = side == OrderSide.BUY ? bidList.getBidQuantity() : bidList.getAskQuantity();
+        if (price == null || price < 0 || quantity == null || toLots(quantity) <= 0) {
+            return null;
+        }
+        return new Order(bidList.getBidListId(), bidList.getSecurity(), side, toTicks(price), toLots(quantity),
+                bidList.getAccount(), bidList.getBook(), bidList.getTrader(), bidList.getType());
+    }
+
+    /**
+     * Statuses a BidList row can still trade with: none, OPEN or PARTIAL (see BidListRepository.streamOpenOrders).
+     * Any other one (FILLED, CLOSED, CANCELLED...) takes the row out of the books.
+     */
+    public static boolean isOpen(String status) {
+        return !StringUtils.hasText(status) || status.equals(FillRecorder.OPEN) || status.equals(FillRecorder.PARTIAL);
+    }
+
+    public static long toTicks(double price) {
+        return Math.round(price * PRICE_SCALE);
+    }
+
+    public static long toLots(double quantity) {
+        return Math.round(quantity * QUANTITY_SCALE);
+    }
+
+    public static double toPrice(long ticks) {
+        return (double) ticks / PRICE_SCALE;
+    }
+
+    public static double toQuantity(long lots) {
+        return (double) lots / QUANTITY_SCALE;
+    }
+}
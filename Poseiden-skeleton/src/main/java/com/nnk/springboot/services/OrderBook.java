@@ -0,0 +1,281 @@
+package com.nnk.springboot.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limit order book of one security with price-time priority: the best price matches first and, within a price
+ * level, the oldest order. Price levels are kept in sorted primitive arrays with the best price last, each level
+ * being a FIFO queue of its resting orders.
+ * <p>
+ * Not thread-safe: a book is only ever used by the MatchingEngine stripe that owns its security.
+ */
+public class OrderBook {
+    private final String security;
+    private final PriceLevels bids = new PriceLevels(OrderSide.BUY);
+    private final PriceLevels asks = new PriceLevels(OrderSide.SELL);
+    private final Map<Long, RestingOrder> orders = new HashMap<>();
+
+    public OrderBook(String security) {
+        this.security = security;
+    }
+
+    public String security() {
+        return security;
+    }
+
+    /**
+     * Matches the order against the opposite side as long as prices cross, then rests what is left of it.
+     * Returns the fills in execution order, empty when nothing crossed.
+     */
+    public List<Fill> submit(Order order) {
+        checkNew(order);
+        PriceLevels opposite = order.side() == OrderSide.BUY ? asks : bids;
+        List<Fill> fills = List.of();
+        long remaining = order.quantity();
+        while (remaining > 0) {
+            PriceLevel level = opposite.best();
+            if (level == null || !crosses(order, level.price)) {
+                break;
+            }
+            RestingOrder resting = level.head();
+            long quantity = Math.min(remaining, resting.remaining);
+            remaining -= quantity;
+            resting.remaining -= quantity;
+            level.quantity -= quantity;
+            if (fills.isEmpty()) {
+                fills = new ArrayList<>();
+            }
+            fills.add(order.side() == OrderSide.BUY
+                    ? new Fill(security, level.price, quantity, order, remaining, resting.order, resting.remaining)
+                    : new Fill(security, level.price, quantity, resting.order, resting.remaining, order, remaining));
+            if (resting.remaining == 0) {
+                level.removeHead();
+                orders.remove(resting.order.id());
+                if (level.isEmpty()) {
+                    opposite.removeBest();
+                }
+            }
+        }
+        if (remaining > 0) {
+            add(order, remaining);
+        }
+        return fills;
+    }
+
+    /**
+     * Reverts the submit of the order that returned these fills, when nothing else was done to the book since:
+     * what rested of the order is removed, and each order it filled gets its quantity and its place at the head
+     * of its price level back.
+     */
+    public void undo(Order order, List<Fill> fills) {
+        cancel(order.id());
+        // in reverse, so that the first order filled ends up first again
+        for (int i = fills.size() - 1; i >= 0; i--) {
+            Fill fill = fills.get(i);
+            Order filled = order.side() == OrderSide.BUY ? fill.sell() : fill.buy();
+            RestingOrder resting = orders.get(filled.id());
+            if (resting != null) {
+                resting.remaining += fill.quantity();
+                resting.level.quantity += fill.quantity();
+            } else {
+                PriceLevel level = (filled.side() == OrderSide.BUY ? bids : asks).getOrAdd(filled.priceTicks());
+                resting = new RestingOrder(filled, fill.quantity(), level);
+                level.addFirst(resting);
+                orders.put(filled.id(), resting);
+            }
+        }
+    }
+
+    /**
+     * Adds the order without matching it, used to reload orders that were already matched before.
+     */
+    public void rest(Order order) {
+        checkNew(order);
+        add(order, order.quantity());
+    }
+
+    /**
+     * Removes a resting order, returns false when it is not (or no longer) in the book.
+     */
+    public boolean cancel(long orderId) {
+        RestingOrder resting = orders.remove(orderId);
+        if (resting == null) {
+            return false;
+        }
+        PriceLevel level = resting.level;
+        level.cancel(resting);
+        if (level.isEmpty()) {
+            (resting.order.side() == OrderSide.BUY ? bids : asks).remove(level.price);
+        }
+        return true;
+    }
+
+    public int orderCount() {
+        return orders.size();
+    }
+
+    public OrderBookDepth depth(int maxLevels) {
+        return new OrderBookDepth(security, bids.depth(maxLevels), asks.depth(maxLevels));
+    }
+
+    private void add(Order order, long quantity) {
+        PriceLevel level = (order.side() == OrderSide.BUY ? bids : asks).getOrAdd(order.priceTicks());
+        RestingOrder resting = new RestingOrder(order, quantity, level);
+        level.add(resting);
+        orders.put(order.id(), resting);
+    }
+
+    private void checkNew(Order order) {
+        if (!security.equals(order.security())) {
+            throw new IllegalArgumentException("Order " + order.id() + " is on " + order.security() + ", not " + security);
+        }
+        if (orders.containsKey(order.id())) {
+            throw new IllegalArgumentException("Order " + order.id() + " is already in the book");
+        }
+    }
+
+    private static boolean crosses(Order order, long restingPrice) {
+        return order.side() == OrderSide.BUY ? restingPrice <= order.priceTicks() : restingPrice >= order.priceTicks();
+    }
+
+    private static final class RestingOrder {
+        private final Order order;
+        private final PriceLevel level;
+        // 0 once cancelled, the entry then stays in the level queue until it reaches the head or is compacted
+        private long remaining;
+
+        private RestingOrder(Order order, long remaining, PriceLevel level) {
+            this.order = order;
+            this.remaining = remaining;
+            this.level = level;
+        }
+    }
+
+    private static final class PriceLevel {
+        private static final int COMPACT_THRESHOLD = 64;
+
+        private final long price;
+        private final ArrayDeque<RestingOrder> queue = new ArrayDeque<>();
+        private long quantity;
+        private int live;
+        private int cancelled;
+
+        private PriceLevel(long price) {
+            this.price = price;
+        }
+
+        private void add(RestingOrder order) {
+            queue.addLast(order);
+            quantity += order.remaining;
+            live++;
+        }
+
+        private void addFirst(RestingOrder order) {
+            queue.addFirst(order);
+            quantity += order.remaining;
+            live++;
+        }
+
+        // only called on a non-empty level, so a live order is always found
+        private RestingOrder head() {
+            RestingOrder head = queue.peekFirst();
+            while (head.remaining == 0) {
+                queue.pollFirst();
+                cancelled--;
+                head = queue.peekFirst();
+            }
+            return head;
+        }
+
+        private void removeHead() {
+            queue.pollFirst();
+            live--;
+        }
+
+        private void cancel(RestingOrder order) {
+            quantity -= order.remaining;
+            order.remaining = 0;
+            live--;
+            cancelled++;
+            if (cancelled > COMPACT_THRESHOLD && cancelled > live) {
+                queue.removeIf(entry -> entry.remaining == 0);
+                cancelled = 0;
+            }
+        }
+
+        private boolean isEmpty() {
+            return live == 0;
+        }
+    }
+
+    /**
+     * Levels of one side sorted by key, best last: the key is the price for bids (highest best) and its opposite
+     * for asks (lowest best), so matching and removing at the best price never shifts the arrays.
+     */
+    private static final class PriceLevels {
+        private final boolean bid;
+        private long[] keys = new long[16];
+        private PriceLevel[] levels = new PriceLevel[16];
+        private int size;
+
+        private PriceLevels(OrderSide side) {
+            this.bid = side == OrderSide.BUY;
+        }
+
+        private PriceLevel best() {
+            return size == 0 ? null : levels[size - 1];
+        }
+
+        private void removeBest() {
+            levels[--size] = null;
+        }
+
+        private PriceLevel getOrAdd(long price) {
+            long key = key(price);
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return levels[index];
+            }
+            int insertion = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                levels = Arrays.copyOf(levels, size * 2);
+            }
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            System.arraycopy(levels, insertion, levels, insertion + 1, size - insertion);
+            keys[insertion] = key;
+            levels[insertion] = new PriceLevel(price);
+            size++;
+            return levels[insertion];
+        }
+
+        private void remove(long price) {
+            int index = Arrays.binarySearch(keys, 0, size, key(price));
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+            levels[--size] = null;
+        }
+
+        private List<OrderBookDepth.Level> depth(int maxLevels) {
+            List<OrderBookDepth.Level> depth = new ArrayList<>(Math.min(maxLevels, size));
+            for (int i = size - 1; i >= 0 && depth.size() < maxLevels; i--) {
+                PriceLevel level = levels[i];
+                depth.add(new OrderBookDepth.Level(Order.toPrice(level.price), Order.toQuantity(level.quantity),
+                        level.live));
+            }
+            return depth;
+        }
+
+        private long key(long price) {
+            return bid ? price : -price;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * Aggregated price levels of one security, best price first on each side.
+ */
+public record OrderBookDepth(String security, List<Level> bids, List<Level> asks) {
+
+    public record Level(double price, double quantity, int orders) {
+    }
+}
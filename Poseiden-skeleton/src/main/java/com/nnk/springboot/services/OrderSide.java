@@ -0,0 +1,30 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import org.springframework.util.StringUtils;
+
+public enum OrderSide {
+    BUY,
+    SELL;
+
+    /**
+     * Side of a BidList order: its {@code side} column (BUY/BID or SELL/ASK) when not blank, otherwise BUY when it has
+     * a bid quantity and SELL when it has an ask quantity. Null when it is neither.
+     */
+    public static OrderSide of(BidList bidList) {
+        if (StringUtils.hasText(bidList.getSide())) {
+            return switch (bidList.getSide().trim().toUpperCase()) {
+                case "BUY", "BID" -> BUY;
+                case "SELL", "ASK" -> SELL;
+                default -> null;
+            };
+        }
+        if (bidList.getBidQuantity() != null && bidList.getBidQuantity() > 0) {
+            return BUY;
+        }
+        if (bidList.getAskQuantity() != null && bidList.getAskQuantity() > 0) {
+            return SELL;
+        }
+        return null;
+    }
+}
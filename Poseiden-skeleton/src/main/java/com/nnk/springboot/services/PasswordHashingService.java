@@ -0,0 +1,23 @@
+package com.nnk.springboot.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the password encoder on the passwordHashingExecutor so servlet threads are released while hashing. When its
+ * queue is full, encode throws TaskRejectedException (answered 503 by UserController).
+ */
+@Service
+public class PasswordHashingService {
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Async("passwordHashingExecutor")
+    public CompletableFuture<String> encode(String rawPassword) {
+        return CompletableFuture.completedFuture(passwordEncoder.encode(rawPassword));
+    }
+}
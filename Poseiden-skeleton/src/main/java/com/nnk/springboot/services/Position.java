@@ -0,0 +1,52 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nnk.springboot.domain.Trade;
+
+/**
+ * Immutable totals of the trades of one account/book/security; a missing quantity or price counts as zero.
+ */
+public record Position(PositionKey key, double buyQuantity, double sellQuantity,
+                       double buyNotional, double sellNotional, long tradeCount) {
+
+    static Position of(Trade trade) {
+        double buyQuantity = valueOf(trade.getBuyQuantity());
+        double sellQuantity = valueOf(trade.getSellQuantity());
+        return new Position(keyOf(trade), buyQuantity, sellQuantity,
+                buyQuantity * valueOf(trade.getBuyPrice()), sellQuantity * valueOf(trade.getSellPrice()), 1);
+    }
+
+    static PositionKey keyOf(Trade trade) {
+        return new PositionKey(trade.getAccount(), trade.getBook(), trade.getSecurity());
+    }
+
+    Position plus(Position other, int sign) {
+        return new Position(key, buyQuantity + sign * other.buyQuantity, sellQuantity + sign * other.sellQuantity,
+                buyNotional + sign * other.buyNotional, sellNotional + sign * other.sellNotional,
+                tradeCount + sign * other.tradeCount);
+    }
+
+    @JsonProperty
+    public double netQuantity() {
+        return buyQuantity - sellQuantity;
+    }
+
+    @JsonProperty
+    public double netNotional() {
+        return buyNotional - sellNotional;
+    }
+
+    @JsonProperty
+    public double averageBuyPrice() {
+        return buyQuantity == 0 ? 0 : buyNotional / buyQuantity;
+    }
+
+    @JsonProperty
+    public double averageSellPrice() {
+        return sellQuantity == 0 ? 0 : sellNotional / sellQuantity;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,4 @@
+package com.nnk.springboot.services;
+
+public record PositionKey(String account, String book, String security) {
+}
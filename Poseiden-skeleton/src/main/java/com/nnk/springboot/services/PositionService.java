@@ -0,0 +1,244 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.events.TradeChangedEvent;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.projections.PositionTotals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Net positions per account/book/security. Seeded with one GROUP BY over the trade table at startup, then kept
+ * up to date from the committed trade changes: the previous state of a trade is subtracted and the new one
+ * added, each key being replaced atomically by a new immutable Position.
+ * <p>
+ * A rebuild runs the GROUP BY in a REPEATABLE READ transaction whose snapshot is opened while no trade
+ * transaction is between its commit and its deltas: every change committed before the snapshot is in it, and the
+ * deltas of the ones committed after are kept meanwhile and applied to the new map before it is swapped in. Trade
+ * commits only wait for the snapshot to be opened, deltas only for the swap.
+ */
+@Service
+public class PositionService {
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Position> BY_KEY = Comparator
+            .comparing((Position position) -> position.key().account(), NULLS_FIRST)
+            .thenComparing(position -> position.key().book(), NULLS_FIRST)
+            .thenComparing(position -> position.key().security(), NULLS_FIRST);
+
+    // read: a trade transaction from its commit until its deltas are applied; write: a rebuild opening its snapshot
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+    // read: deltas being applied; write: a rebuilt map being swapped in
+    private final ReadWriteLock swap = new ReentrantReadWriteLock();
+    private volatile Map<PositionKey, Position> positions = new ConcurrentHashMap<>();
+    // changes committed after the snapshot of the rebuild in progress, null when none is
+    private volatile Queue<TradeChangedEvent> committedSinceSnapshot;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // also called after the commit of a bulk statement, whose transaction must not be joined
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            Queue<TradeChangedEvent> committedSince = new ConcurrentLinkedQueue<>();
+            commits.writeLock().lock();
+            try {
+                // the first read opens the snapshot (MySQL consistent read view) the GROUP BY then reads
+                jdbcTemplate.queryForList("select TradeId from trade limit 1");
+                committedSinceSnapshot = committedSince;
+            } finally {
+                commits.writeLock().unlock();
+            }
+            try {
+                Map<PositionKey, Position> totals = new ConcurrentHashMap<>();
+                for (PositionTotals row : tradeRepository.findPositionTotals()) {
+                    PositionKey key = new PositionKey(row.getAccount(), row.getBook(), row.getSecurity());
+                    totals.put(key, new Position(key, row.getBuyQuantity(), row.getSellQuantity(),
+                            row.getBuyNotional(), row.getSellNotional(), row.getTradeCount()));
+                }
+                swap.writeLock().lock();
+                try {
+                    committedSince.forEach(event -> apply(totals, event));
+                    positions = totals;
+                } finally {
+                    swap.writeLock().unlock();
+                }
+            } finally {
+                committedSinceSnapshot = null;
+            }
+        });
+    }
+
+    /**
+     * Collects the changes of the current transaction, applied once it commits.
+     */
+    @EventListener
+    public void onTradeChanged(TradeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commits.readLock().lock();
+            try {
+                applyCommitted(List.of(event));
+            } finally {
+                commits.readLock().unlock();
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<TradeChangedEvent> pending = (List<TradeChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<TradeChangedEvent> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TradeCommit(changes));
+            pending = changes;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Bulk statements don't say which trades they touched: positions are recomputed from the table.
+     */
+    @TransactionalEventListener
+    public void onBulkChanged(BulkChangedEvent event) {
+        if (event.entity() == Trade.class) {
+            rebuild();
+        }
+    }
+
+    public Optional<Position> find(PositionKey key) {
+        return Optional.ofNullable(positions.get(key));
+    }
+
+    /**
+     * Null criteria match any value.
+     */
+    public List<Position> findAll(String account, String book, String security) {
+        return positions.values().stream()
+                .filter(position -> account == null || account.equals(position.key().account()))
+                .filter(position -> book == null || book.equals(position.key().book()))
+                .filter(position -> security == null || security.equals(position.key().security()))
+                .sorted(BY_KEY)
+                .toList();
+    }
+
+    private void applyCommitted(List<TradeChangedEvent> changes) {
+        swap.readLock().lock();
+        try {
+            Queue<TradeChangedEvent> committedSince = committedSinceSnapshot;
+            for (TradeChangedEvent event : changes) {
+                apply(positions, event);
+                if (committedSince != null) {
+                    committedSince.add(event);
+                }
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<PositionKey, Position> positions, TradeChangedEvent event) {
+        if (event.previous() != null) {
+            apply(positions, Position.of(event.previous()), -1);
+        }
+        if (event.current() != null) {
+            apply(positions, Position.of(event.current()), 1);
+        }
+    }
+
+    private static void apply(Map<PositionKey, Position> positions, Position delta, int sign) {
+        positions.compute(delta.key(), (key, position) -> {
+            Position base = Objects.requireNonNullElseGet(position, () -> new Position(key, 0, 0, 0, 0, 0));
+            Position updated = base.plus(delta, sign);
+            return updated.tradeCount() == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Holds the commits read lock from before the commit until the changes are applied, and runs before the
+     * after-commit listeners, one of which may rebuild.
+     */
+    private final class TradeCommit implements TransactionSynchronization {
+        private final List<TradeChangedEvent> changes;
+        private boolean committing;
+
+        private TradeCommit(List<TradeChangedEvent> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        // suspended with the transaction: the changes of an inner REQUIRES_NEW transaction follow its own commit
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(PositionService.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(PositionService.this, changes);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commits.readLock().lock();
+            committing = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                applyCommitted(changes);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PositionService.this);
+            release();
+        }
+
+        private void release() {
+            if (committing) {
+                committing = false;
+                commits.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Rating;
+
+import java.util.function.Function;
+
+public enum RatingAgency {
+    MOODYS(Rating::getMoodysRating),
+    SANDP(Rating::getSandPRating),
+    FITCH(Rating::getFitchRating);
+
+    private final Function<Rating, String> symbol;
+
+    RatingAgency(Function<Rating, String> symbol) {
+        this.symbol = symbol;
+    }
+
+    String symbolOf(Rating rating) {
+        return symbol.apply(rating);
+    }
+}
@@ -0,0 +1,121 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Rating;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the rating table mapping every agency symbol to its ordinal, the orderNumber of its
+ * row (lower is better). Lookups are hash lookups on the symbol and don't allocate; unknown or null symbols
+ * have the ordinal {@link #UNKNOWN}. A symbol appearing on several rows keeps the best ordinal.
+ */
+public final class RatingIndex {
+    public static final int UNKNOWN = -1;
+
+    public static final RatingIndex EMPTY = of(List.of());
+
+    private final AgencyTable[] tables;
+
+    private RatingIndex(AgencyTable[] tables) {
+        this.tables = tables;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static RatingIndex of(List<Rating> ratings) {
+        AgencyTable[] tables = new AgencyTable[RatingAgency.values().length];
+        for (RatingAgency agency : RatingAgency.values()) {
+            Map<String, Integer> ordinals = new HashMap<>();
+            for (Rating rating : ratings) {
+                String symbol = agency.symbolOf(rating);
+                if (symbol != null && rating.getOrderNumber() != null && rating.getOrderNumber() >= 0) {
+                    ordinals.merge(symbol, rating.getOrderNumber(), Math::min);
+                }
+            }
+            // reverse lookup: ordinals sorted, with the symbol of each at the same index
+            Map.Entry<String, Integer>[] entries = ordinals.entrySet().toArray(new Map.Entry[0]);
+            Arrays.sort(entries, Map.Entry.comparingByValue());
+            int[] sortedOrdinals = new int[entries.length];
+            String[] symbols = new String[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                sortedOrdinals[i] = entries[i].getValue();
+                symbols[i] = entries[i].getKey();
+            }
+            tables[agency.ordinal()] = new AgencyTable(Map.copyOf(ordinals), sortedOrdinals, symbols);
+        }
+        return new RatingIndex(tables);
+    }
+
+    public int ordinal(RatingAgency agency, String symbol) {
+        if (symbol == null) {
+            return UNKNOWN;
+        }
+        Integer ordinal = tables[agency.ordinal()].ordinals().get(symbol);
+        return ordinal == null ? UNKNOWN : ordinal;
+    }
+
+    /**
+     * Fills ordinals with the ordinal of each symbol, for callers reusing their buffer.
+     */
+    public void ordinals(RatingAgency agency, String[] symbols, int[] ordinals) {
+        for (int i = 0; i < symbols.length; i++) {
+            ordinals[i] = ordinal(agency, symbols[i]);
+        }
+    }
+
+    public int[] ordinals(RatingAgency agency, String[] symbols) {
+        int[] ordinals = new int[symbols.length];
+        ordinals(agency, symbols, ordinals);
+        return ordinals;
+    }
+
+    /**
+     * Symbol of the agency for the ordinal, or null when the agency has none on that row.
+     */
+    public String symbol(RatingAgency agency, int ordinal) {
+        AgencyTable table = tables[agency.ordinal()];
+        int index = Arrays.binarySearch(table.sortedOrdinals(), ordinal);
+        return index < 0 ? null : table.symbols()[index];
+    }
+
+    /**
+     * Same rating expressed in the symbols of another agency, null when unknown.
+     */
+    public String translate(RatingAgency from, String symbol, RatingAgency to) {
+        int ordinal = ordinal(from, symbol);
+        return ordinal == UNKNOWN ? null : symbol(to, ordinal);
+    }
+
+    /**
+     * Negative when the left rating is better than the right one, unknown ratings come last.
+     */
+    public int compare(RatingAgency leftAgency, String left, RatingAgency rightAgency, String right) {
+        return compareOrdinals(ordinal(leftAgency, left), ordinal(rightAgency, right));
+    }
+
+    public static int compareOrdinals(int left, int right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == UNKNOWN) {
+            return 1;
+        }
+        if (right == UNKNOWN) {
+            return -1;
+        }
+        return Integer.compare(left, right);
+    }
+
+    /**
+     * Whether the symbol is known and rated at least as well as the floor ordinal.
+     */
+    public boolean atLeast(RatingAgency agency, String symbol, int floor) {
+        int ordinal = ordinal(agency, symbol);
+        return ordinal != UNKNOWN && ordinal <= floor;
+    }
+
+    private record AgencyTable(Map<String, Integer> ordinals, int[] sortedOrdinals, String[] symbols) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.events.RatingChangedEvent;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current RatingIndex. The rating table is small, so it is reloaded whole at startup and after
+ * every committed rating change; readers always see a complete snapshot.
+ */
+@Service
+public class RatingIndexService {
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    private volatile RatingIndex index = RatingIndex.EMPTY;
+
+    public RatingIndex index() {
+        return index;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        reload();
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        reload();
+    }
+
+    // serialized so that a reload started earlier can't publish its snapshot after a later one
+    private synchronized void reload() {
+        index = RatingIndex.of(ratingRepository.findAll());
+    }
+}
@@ -0,0 +1,56 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.RatingChangedEvent;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.projections.RatingSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class RatingService {
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<RatingSummary> findAllSummaries() {
+        return ratingRepository.findAllProjectedBy(Sort.by("orderNumber"));
+    }
+
+    @Transactional(readOnly = true)
+    public Rating findById(Long id) {
+        return ratingRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid rating Id:" + id));
+    }
+
+    @Transactional
+    public Rating save(Rating rating) {
+        rating.setId(null);
+        Rating saved = ratingRepository.save(rating);
+        eventPublisher.publishEvent(new RatingChangedEvent(ChangeType.CREATED, saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public Rating update(Long id, Rating rating) {
+        findById(id);
+        rating.setId(id);
+        Rating saved = ratingRepository.save(rating);
+        eventPublisher.publishEvent(new RatingChangedEvent(ChangeType.UPDATED, id));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        ratingRepository.delete(findById(id));
+        eventPublisher.publishEvent(new RatingChangedEvent(ChangeType.DELETED, id));
+    }
+}
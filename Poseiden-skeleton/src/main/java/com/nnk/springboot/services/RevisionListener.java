@@ -0,0 +1,32 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.events.ChangeType;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Entity listener feeding the revision log of Trade and BidList, created by Hibernate through Spring so that it
+ * can be autowired. Called at flush time, it only copies the entity: see RevisionLogService.
+ */
+public class RevisionListener {
+    @Autowired
+    private RevisionLogService revisionLogService;
+
+    @PostPersist
+    public void created(Object entity) {
+        revisionLogService.record(ChangeType.CREATED, entity);
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        revisionLogService.record(ChangeType.UPDATED, entity);
+    }
+
+    @PostRemove
+    public void deleted(Object entity) {
+        revisionLogService.record(ChangeType.DELETED, entity);
+    }
+}
@@ -0,0 +1,305 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.events.ChangeType;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only revision log of Trade and BidList: every insert, update and delete flushed by Hibernate is copied
+ * by RevisionListener, queued when its transaction commits (rolled back changes are never logged) and inserted
+ * into revision_log by a writer thread, in JDBC batches of up to batch-size rows at most max-delay after the
+ * commit. The update path only pays for the copy.
+ * <p>
+ * The revision date is read from the database just before the commit, once the changed rows are locked: two
+ * transactions changing the same row get their dates in commit order, whichever thread queues first.
+ * <p>
+ * A full queue blocks committing threads rather than losing revisions. JPQL bulk statements (bulk delete and
+ * status updates) bypass entity listeners: each one is logged as a marker without entityId, and asOf rejects a
+ * row whose last revision is older than a marker of its entity. Rows written before the log existed are not
+ * logged.
+ */
+@Service
+public class RevisionLogService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(RevisionLogService.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final String INSERT = "insert into revision_log " +
+            "(entity, entityId, revisionType, revisionDate, revisionName, state) values (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // lazy: RevisionListener is created with the EntityManagerFactory, which cannot be injected into it yet
+    @Autowired
+    @Lazy
+    private EntityManager entityManager;
+
+    @Value("${app.revisions.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.revisions.max-delay:200ms}")
+    private Duration maxDelay;
+
+    private final BlockingQueue<Revision> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    public RevisionLogService(@Value("${app.revisions.queue-capacity:100000}") int queueCapacity) {
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Copies the entity and logs it once the current transaction commits (right away outside of one).
+     */
+    public void record(ChangeType type, Object entity) {
+        Object state = BeanUtils.instantiateClass(entity.getClass());
+        BeanUtils.copyProperties(entity, state);
+        add(new Revision(entity.getClass().getSimpleName(), id(entity), type, userName(), state));
+    }
+
+    /**
+     * Logs a bulk statement of Trade or BidList as a marker without entityId, see asOf.
+     */
+    @EventListener
+    public void onBulkChanged(BulkChangedEvent event) {
+        if (event.entity() == Trade.class || event.entity() == BidList.class) {
+            add(new Revision(event.entity().getSimpleName(), null, event.type(), userName(), null));
+        }
+    }
+
+    private void add(Revision revision) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(List.of(revision), new Timestamp(System.currentTimeMillis()));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Revision> pending = (List<Revision>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Revision> revisions = new ArrayList<>();
+            Timestamp[] committed = new Timestamp[1];
+            // run by Hibernate at commit, after its last flush (every changed row is locked) and before the JDBC
+            // commit: the date is read on the connection of the transaction
+            entityManager.unwrap(SessionImplementor.class).getActionQueue().registerProcess(
+                    (BeforeTransactionCompletionProcess) session -> committed[0] =
+                            jdbcTemplate.queryForObject("select current_timestamp(6)", Timestamp.class));
+            TransactionSynchronizationManager.bindResource(this, revisions);
+            // suspended with the transaction, so that revisions of an inner REQUIRES_NEW transaction follow its commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(RevisionLogService.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(RevisionLogService.this, revisions);
+                }
+
+                @Override
+                public void afterCommit() {
+                    enqueue(revisions, committed[0]);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RevisionLogService.this);
+                }
+            });
+            pending = revisions;
+        }
+        pending.add(revision);
+    }
+
+    /**
+     * The entity as it was at the given time, empty when it did not exist then (or was not logged yet). Revisions
+     * reach the log up to max-delay after their commit.
+     *
+     * @throws IllegalStateException when a bulk statement of the entity ran between the last revision of the row
+     *                               and the given time, the row may have been changed without being logged
+     */
+    public <T> Optional<T> asOf(Class<T> entity, Long id, Instant at) {
+        Timestamp date = Timestamp.from(at);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select revisionType, revisionDate, state " +
+                        "from revision_log where entity = ? and entityId = ? and revisionDate <= ? " +
+                        "order by revisionDate desc, Id desc limit 1",
+                entity.getSimpleName(), id, date);
+        if (rows.isEmpty() || ChangeType.DELETED.name().equals(rows.get(0).get("revisionType"))) {
+            return Optional.empty();
+        }
+        Integer bulk = jdbcTemplate.queryForObject("select count(*) from revision_log " +
+                        "where entity = ? and entityId is null and revisionDate >= ? and revisionDate <= ?",
+                Integer.class, entity.getSimpleName(), rows.get(0).get("revisionDate"), date);
+        if (bulk != null && bulk > 0) {
+            throw new IllegalStateException(entity.getSimpleName() + " " + id
+                    + " may have been changed by a bulk statement before " + at + ", which is not logged per row");
+        }
+        try {
+            return Optional.of(objectMapper.readValue((String) rows.get(0).get("state"), entity));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable revision of " + entity.getSimpleName() + " " + id, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::write, "revision-log-writer");
+        writer.start();
+    }
+
+    /**
+     * Waits for the writer to insert what is queued.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // below TradeCaptureService, whose writer stores trades until it stops
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private void enqueue(List<Revision> revisions, Timestamp committed) {
+        try {
+            for (Revision revision : revisions) {
+                revision.committed = committed;
+                queue.put(revision);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing {} revisions, they are not logged", revisions.size());
+        }
+    }
+
+    private void write() {
+        List<Revision> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Revision first = queue.poll(maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize) {
+                    long wait = deadline - System.nanoTime();
+                    Revision next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                insertRetrying(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void insertRetrying(List<Revision> batch) throws InterruptedException {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Revision revision : batch) {
+            try {
+                rows.add(new Object[]{revision.entity, revision.entityId, revision.type.name(), revision.committed,
+                        revision.name, revision.state == null ? null : objectMapper.writeValueAsString(revision.state)});
+            } catch (JsonProcessingException e) {
+                log.error("Dropped unserializable revision of {} {}", revision.entity, revision.entityId, e);
+            }
+        }
+        while (true) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT, rows);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Lost {} revisions while stopping", rows.size(), e);
+                    return;
+                }
+                log.warn("Could not insert {} revisions, retrying in {}", rows.size(), RETRY_DELAY, e);
+                Thread.sleep(RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    private static String userName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private static Long id(Object entity) {
+        if (entity instanceof Trade trade) {
+            return trade.getTradeId();
+        }
+        if (entity instanceof BidList bidList) {
+            return bidList.getBidListId();
+        }
+        throw new IllegalArgumentException("No revision log for " + entity.getClass().getSimpleName());
+    }
+
+    private static final class Revision {
+        private final String entity;
+        private final Long entityId;
+        private final ChangeType type;
+        private final String name;
+        private final Object state;
+        private Timestamp committed;
+
+        private Revision(String entity, Long entityId, ChangeType type, String name, Object state) {
+            this.entity = entity;
+            this.entityId = entityId;
+            this.type = type;
+            this.name = name;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.projections.BidListRiskRow;
+
+public enum RiskGrouping {
+    BOOK,
+    TRADER;
+
+    String keyOf(BidListRiskRow row) {
+        return this == BOOK ? row.book() : row.trader();
+    }
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.services;
+
+public enum RiskSummaryMode {
+    /**
+     * Keyset chunks of the table reduced on the risk summary fork-join pool.
+     */
+    PARALLEL,
+    /**
+     * One GROUP BY run by the database.
+     */
+    SQL
+}
@@ -0,0 +1,89 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.projections.BidListRiskRow;
+import com.nnk.springboot.repositories.projections.SpreadTotals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Bid/ask summary per book or trader over the whole bidlist table, either reduced in the application
+ * (PARALLEL) or aggregated by the database (SQL). See RiskSummaryBenchmark for where each one wins.
+ */
+@Service
+public class RiskSummaryService {
+    private static final Comparator<SpreadSummary> BY_GROUP =
+            Comparator.comparing(SpreadSummary::group, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private ForkJoinPool riskSummaryPool;
+
+    @Value("${app.risk.chunk-size:10000}")
+    private int chunkSize;
+
+    public List<SpreadSummary> summarize(RiskGrouping grouping, RiskSummaryMode mode) {
+        return switch (mode) {
+            case PARALLEL -> summarizeParallel(grouping);
+            case SQL -> summarizeSql(grouping);
+        };
+    }
+
+    /**
+     * Reads the table in id keyset chunks on the calling thread while earlier chunks are reduced on the pool.
+     * At most two chunks per pool thread are in flight, which bounds the memory used whatever the table size.
+     */
+    @Transactional(readOnly = true)
+    public List<SpreadSummary> summarizeParallel(RiskGrouping grouping) {
+        Map<String, SpreadAccumulator> totals = new HashMap<>();
+        Deque<ForkJoinTask<Map<String, SpreadAccumulator>>> pending = new ArrayDeque<>();
+        int maxPending = riskSummaryPool.getParallelism() * 2;
+        PageRequest chunk = PageRequest.ofSize(chunkSize);
+        Long afterId = Long.MIN_VALUE;
+        List<BidListRiskRow> rows;
+        do {
+            rows = bidListRepository.findRiskRowsAfter(afterId, chunk);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).bidListId();
+            pending.add(riskSummaryPool.submit(new SpreadReduction(rows, grouping)));
+            if (pending.size() > maxPending) {
+                SpreadReduction.mergeInto(totals, pending.poll().join());
+            }
+        } while (rows.size() == chunkSize);
+        while (!pending.isEmpty()) {
+            SpreadReduction.mergeInto(totals, pending.poll().join());
+        }
+        return totals.entrySet().stream()
+                .map(entry -> entry.getValue().toSummary(entry.getKey()))
+                .sorted(BY_GROUP)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SpreadSummary> summarizeSql(RiskGrouping grouping) {
+        List<SpreadTotals> rows = switch (grouping) {
+            case BOOK -> bidListRepository.findSpreadTotalsByBook();
+            case TRADER -> bidListRepository.findSpreadTotalsByTrader();
+        };
+        return rows.stream()
+                .map(row -> SpreadAccumulator.of(row).toSummary(row.getGroupKey()))
+                .sorted(BY_GROUP)
+                .toList();
+    }
+}
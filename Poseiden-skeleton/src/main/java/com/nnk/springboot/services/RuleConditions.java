@@ -0,0 +1,203 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the condition tree stored in RuleName.json into a predicate, resolving field getters and
+ * converting constants once so that evaluating a row only compares values:
+ * <pre>
+ * {"all": [{"field": "book", "op": "eq", "value": "Book 1"},
+ *          {"any": [{"field": "buyQuantity", "op": "gt", "value": 1000}, {"not": {"field": "side", "op": "notNull"}}]}]}
+ * </pre>
+ * Operators: eq, ne, gt, gte, lt, lte, in, notIn, isNull, notNull. Time fields take ISO instants, dates or
+ * {@code yyyy-mm-dd hh:mm:ss} values. A null field only satisfies isNull, as in SQL. The predicates are
+ * stateless and can be shared between threads.
+ */
+public final class RuleConditions {
+
+    private RuleConditions() {
+    }
+
+    public static <T> Predicate<T> compile(JsonNode node, RuleTarget<T> target) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("A condition must be a JSON object: " + node);
+        }
+        if (node.has("all")) {
+            List<Predicate<T>> conditions = compileAll(node.get("all"), target);
+            return row -> {
+                for (Predicate<T> condition : conditions) {
+                    if (!condition.test(row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        if (node.has("any")) {
+            List<Predicate<T>> conditions = compileAll(node.get("any"), target);
+            return row -> {
+                for (Predicate<T> condition : conditions) {
+                    if (condition.test(row)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        if (node.has("not")) {
+            return compile(node.get("not"), target).negate();
+        }
+        return compileComparison(node, target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<Predicate<T>> compileAll(JsonNode nodes, RuleTarget<T> target) {
+        if (!nodes.isArray()) {
+            throw new IllegalArgumentException("all / any expect an array of conditions: " + nodes);
+        }
+        Predicate<T>[] conditions = new Predicate[nodes.size()];
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i] = compile(nodes.get(i), target);
+        }
+        return List.of(conditions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> compileComparison(JsonNode node, RuleTarget<T> target) {
+        RuleField<T> field = target.field(text(node, "field"));
+        String op = text(node, "op");
+        Function<T, ?> getter = field.getter();
+        switch (op) {
+            case "isNull":
+                return row -> getter.apply(row) == null;
+            case "notNull":
+                return row -> getter.apply(row) != null;
+            default:
+                break;
+        }
+        JsonNode value = node.get("value");
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Missing value for " + op + " in " + node);
+        }
+        if ((op.equals("in") || op.equals("notIn")) && !value.isArray()) {
+            throw new IllegalArgumentException(op + " expects an array of values: " + node);
+        }
+        return field.kind() == RuleField.Kind.NUMBER
+                ? compileNumber((Function<T, Double>) getter, op, value)
+                : compileText((Function<T, String>) getter, op, value);
+    }
+
+    private static <T> Predicate<T> compileNumber(Function<T, Double> getter, String op, JsonNode value) {
+        if (op.equals("in") || op.equals("notIn")) {
+            double[] values = new double[value.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = number(value.get(i));
+            }
+            Arrays.sort(values);
+            boolean in = op.equals("in");
+            return row -> {
+                Double x = getter.apply(row);
+                return x != null && (Arrays.binarySearch(values, x) >= 0) == in;
+            };
+        }
+        double v = number(value);
+        return switch (op) {
+            case "eq" -> row -> {
+                Double x = getter.apply(row);
+                return x != null && x == v;
+            };
+            case "ne" -> row -> {
+                Double x = getter.apply(row);
+                return x != null && x != v;
+            };
+            case "gt" -> row -> {
+                Double x = getter.apply(row);
+                return x != null && x > v;
+            };
+            case "gte" -> row -> {
+                Double x = getter.apply(row);
+                return x != null && x >= v;
+            };
+            case "lt" -> row -> {
+                Double x = getter.apply(row);
+                return x != null && x < v;
+            };
+            case "lte" -> row -> {
+                Double x = getter.apply(row);
+                return x != null && x <= v;
+            };
+            default -> throw new IllegalArgumentException("Unknown operator: " + op);
+        };
+    }
+
+    private static <T> Predicate<T> compileText(Function<T, String> getter, String op, JsonNode value) {
+        if (op.equals("in") || op.equals("notIn")) {
+            Set<String> values = new HashSet<>();
+            value.forEach(element -> values.add(element.asText()));
+            boolean in = op.equals("in");
+            return row -> {
+                String x = getter.apply(row);
+                return x != null && values.contains(x) == in;
+            };
+        }
+        String v = value.asText();
+        return switch (op) {
+            case "eq" -> row -> v.equals(getter.apply(row));
+            case "ne" -> row -> {
+                String x = getter.apply(row);
+                return x != null && !v.equals(x);
+            };
+            case "gt" -> row -> {
+                String x = getter.apply(row);
+                return x != null && x.compareTo(v) > 0;
+            };
+            case "gte" -> row -> {
+                String x = getter.apply(row);
+                return x != null && x.compareTo(v) >= 0;
+            };
+            case "lt" -> row -> {
+                String x = getter.apply(row);
+                return x != null && x.compareTo(v) < 0;
+            };
+            case "lte" -> row -> {
+                String x = getter.apply(row);
+                return x != null && x.compareTo(v) <= 0;
+            };
+            default -> throw new IllegalArgumentException("Unknown operator: " + op);
+        };
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("Missing \"" + name + "\" in " + node);
+        }
+        return value.asText();
+    }
+
+    private static double number(JsonNode value) {
+        if (value.isNumber()) {
+            return value.asDouble();
+        }
+        String text = value.asText();
+        try {
+            return Instant.parse(text).toEpochMilli();
+        } catch (DateTimeParseException notAnInstant) {
+            try {
+                return Timestamp.valueOf(text.length() == 10 ? text + " 00:00:00" : text).getTime();
+            } catch (IllegalArgumentException notATimestamp) {
+                throw new IllegalArgumentException("Not a number or a time: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.events.RuleNameChangedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates RuleNames against batches of trades or bids. Each rule is compiled once per row type and cached
+ * by rule id until it is updated or deleted:
+ * <ul>
+ *     <li>a rule with a json condition tree becomes an in-memory predicate (see RuleConditions),</li>
+ *     <li>otherwise its sqlPart, checked and parameterized by RuleSqlConditions, becomes the WHERE clause of
+ *     one query per 1000 ids of the batch, so it only matches rows already saved.</li>
+ * </ul>
+ * Evaluating every rule only runs the rules that compile for the row type; their ids are cached per row type in
+ * a State replaced by compare-and-set, whose invalidation count keeps a load that raced a change from being
+ * published (as in CurveSnapshotCache).
+ */
+@Service
+public class RuleEngine {
+    private static final int SQL_BATCH_SIZE = 1000;
+
+    private record RuleKey(Long id, RuleTarget<?> target) {
+    }
+
+    private final Map<RuleKey, CompiledRule<?>> rules = new ConcurrentHashMap<>();
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, Map.of()));
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @TransactionalEventListener
+    public void onRuleNameChanged(RuleNameChangedEvent event) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new State(current.invalidations() + 1, Map.of())));
+        rules.keySet().removeIf(key -> key.id().equals(event.id()));
+    }
+
+    /**
+     * Evaluates the given rules in the given order, or every rule compiling for the target by id when ruleIds is
+     * empty.
+     */
+    public <T> List<RuleEvaluation> evaluate(RuleTarget<T> target, List<Long> ruleIds, List<T> rows) {
+        List<Long> ids = ruleIds == null || ruleIds.isEmpty() ? ruleIds(target) : ruleIds;
+        List<RuleEvaluation> evaluations = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CompiledRule<T> rule = get(id, target);
+            evaluations.add(new RuleEvaluation(rule.id(), rule.name(), rule.match(rows).stream().boxed().toList()));
+        }
+        return evaluations;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompiledRule<T> get(Long id, RuleTarget<T> target) {
+        RuleKey key = new RuleKey(id, target);
+        CompiledRule<T> rule = (CompiledRule<T>) rules.get(key);
+        if (rule != null) {
+            return rule;
+        }
+        long invalidations = state.get().invalidations();
+        RuleName ruleName = ruleNameRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid ruleName Id:" + id));
+        return cache(compile(ruleName, target), target, invalidations);
+    }
+
+    /**
+     * The reason why the rule compiles for no row type, if any.
+     */
+    public Optional<String> check(RuleName ruleName) {
+        try {
+            compile(ruleName, RuleTarget.TRADE);
+            return Optional.empty();
+        } catch (IllegalArgumentException notForTrades) {
+            try {
+                compile(ruleName, RuleTarget.BID_LIST);
+                return Optional.empty();
+            } catch (IllegalArgumentException notForBids) {
+                return Optional.of(notForTrades.getMessage());
+            }
+        }
+    }
+
+    public <T> CompiledRule<T> compile(RuleName ruleName, RuleTarget<T> target) {
+        if (StringUtils.hasText(ruleName.getJson())) {
+            try {
+                Predicate<T> condition = RuleConditions.compile(objectMapper.readTree(ruleName.getJson()), target);
+                return new PredicateRule<>(ruleName.getId(), ruleName.getName(), condition);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid rule json: " + e.getOriginalMessage());
+            }
+        }
+        if (StringUtils.hasText(ruleName.getSqlPart())) {
+            RuleSqlConditions.SqlCondition condition = RuleSqlConditions.compile(ruleName.getSqlPart(), target);
+            String sql = "select " + target.idColumn() + " from " + target.table() + " where " + target.idColumn() +
+                    " in (:ids) and (" + condition.sql() + ")";
+            return new SqlRule<>(ruleName.getId(), ruleName.getName(), target, sql, condition.parameters(),
+                    jdbcTemplate);
+        }
+        throw new IllegalArgumentException("Rule " + ruleName.getName() + " has neither json nor SQL part");
+    }
+
+    /**
+     * Ids of the rules compiling for the target, the others are left out rather than failing the evaluation.
+     */
+    private <T> List<Long> ruleIds(RuleTarget<T> target) {
+        State beforeLoad = state.get();
+        List<Long> ids = beforeLoad.ruleIds().get(target);
+        if (ids != null) {
+            return ids;
+        }
+        List<Long> loaded = new ArrayList<>();
+        for (RuleName ruleName : ruleNameRepository.findAll(Sort.by("id"))) {
+            CompiledRule<T> rule;
+            try {
+                rule = compile(ruleName, target);
+            } catch (IllegalArgumentException notForTarget) {
+                continue;
+            }
+            cache(rule, target, beforeLoad.invalidations());
+            loaded.add(ruleName.getId());
+        }
+        ids = List.copyOf(loaded);
+        State current;
+        State next;
+        do {
+            current = state.get();
+            if (current.invalidations() != beforeLoad.invalidations() || current.ruleIds().containsKey(target)) {
+                return ids;
+            }
+            Map<RuleTarget<?>, List<Long>> ruleIds = new HashMap<>(current.ruleIds());
+            ruleIds.put(target, ids);
+            next = new State(current.invalidations(), Map.copyOf(ruleIds));
+        } while (!state.compareAndSet(current, next));
+        return ids;
+    }
+
+    /**
+     * Keeps the compiled rule unless a rule changed since {@code invalidations} was read: it may have been read
+     * before the change.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompiledRule<T> cache(CompiledRule<T> rule, RuleTarget<T> target, long invalidations) {
+        RuleKey key = new RuleKey(rule.id(), target);
+        CompiledRule<T> existing = (CompiledRule<T>) rules.putIfAbsent(key, rule);
+        if (existing != null) {
+            return existing;
+        }
+        if (state.get().invalidations() != invalidations) {
+            rules.remove(key, rule);
+        }
+        return rule;
+    }
+
+    private record State(long invalidations, Map<RuleTarget<?>, List<Long>> ruleIds) {
+    }
+
+    private record PredicateRule<T>(Long id, String name, Predicate<T> condition) implements CompiledRule<T> {
+        @Override
+        public BitSet match(List<T> rows) {
+            BitSet matches = new BitSet(rows.size());
+            int i = 0;
+            for (T row : rows) {
+                if (condition.test(row)) {
+                    matches.set(i);
+                }
+                i++;
+            }
+            return matches;
+        }
+    }
+
+    private record SqlRule<T>(Long id, String name, RuleTarget<T> target, String sql, Map<String, Object> parameters,
+                              NamedParameterJdbcTemplate jdbcTemplate) implements CompiledRule<T> {
+        @Override
+        public BitSet match(List<T> rows) {
+            Set<Long> ids = new LinkedHashSet<>();
+            for (T row : rows) {
+                Long rowId = target.idOf(row);
+                if (rowId != null) {
+                    ids.add(rowId);
+                }
+            }
+            List<Long> pending = new ArrayList<>(ids);
+            Set<Long> matchingIds = new HashSet<>();
+            Map<String, Object> batchParameters = new HashMap<>(parameters);
+            for (int from = 0; from < pending.size(); from += SQL_BATCH_SIZE) {
+                batchParameters.put("ids", pending.subList(from, Math.min(from + SQL_BATCH_SIZE, pending.size())));
+                matchingIds.addAll(jdbcTemplate.queryForList(sql, batchParameters, Long.class));
+            }
+            BitSet matches = new BitSet(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Long rowId = target.idOf(rows.get(i));
+                if (rowId != null && matchingIds.contains(rowId)) {
+                    matches.set(i);
+                }
+            }
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * Indexes, in the evaluated batch, of the rows matching a rule.
+ */
+public record RuleEvaluation(Long ruleId, String ruleName, List<Integer> matchingRows) {
+}
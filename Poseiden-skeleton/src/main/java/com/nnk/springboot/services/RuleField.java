@@ -0,0 +1,30 @@
+package com.nnk.springboot.services;
+
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Getter of a field usable in rule conditions. Numeric and time fields are read as Double (time as epoch
+ * millis) so that conditions compile to primitive comparisons.
+ */
+public record RuleField<T>(Kind kind, Function<T, ?> getter) {
+    public enum Kind {
+        TEXT,
+        NUMBER
+    }
+
+    static <T> RuleField<T> text(Function<T, String> getter) {
+        return new RuleField<>(Kind.TEXT, getter);
+    }
+
+    static <T> RuleField<T> number(Function<T, Double> getter) {
+        return new RuleField<>(Kind.NUMBER, getter);
+    }
+
+    static <T> RuleField<T> time(Function<T, ? extends Date> getter) {
+        return new RuleField<>(Kind.NUMBER, row -> {
+            Date date = getter.apply(row);
+            return date == null ? null : (double) date.getTime();
+        });
+    }
+}
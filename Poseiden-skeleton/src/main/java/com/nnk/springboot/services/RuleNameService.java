@@ -0,0 +1,56 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.RuleNameChangedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.projections.RuleNameSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class RuleNameService {
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<RuleNameSummary> findAllSummaries() {
+        return ruleNameRepository.findAllProjectedBy(Sort.by("id"));
+    }
+
+    @Transactional(readOnly = true)
+    public RuleName findById(Long id) {
+        return ruleNameRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid ruleName Id:" + id));
+    }
+
+    @Transactional
+    public RuleName save(RuleName ruleName) {
+        ruleName.setId(null);
+        RuleName saved = ruleNameRepository.save(ruleName);
+        eventPublisher.publishEvent(new RuleNameChangedEvent(ChangeType.CREATED, saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public RuleName update(Long id, RuleName ruleName) {
+        findById(id);
+        ruleName.setId(id);
+        RuleName saved = ruleNameRepository.save(ruleName);
+        eventPublisher.publishEvent(new RuleNameChangedEvent(ChangeType.UPDATED, id));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        ruleNameRepository.delete(findById(id));
+        eventPublisher.publishEvent(new RuleNameChangedEvent(ChangeType.DELETED, id));
+    }
+}
@@ -0,0 +1,239 @@
+package com.nnk.springboot.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a RuleName.sqlPart against a small WHERE clause grammar and rewrites it with its constants as bind
+ * parameters, so that a rule can only filter the rows of its own table:
+ * <pre>
+ * book in ('Book 1', 'Book 2') and (buyQuantity > 1000 or side is null)
+ * </pre>
+ * Columns are the rule fields of the target (see RuleTarget), constants are numbers or 'quoted' strings.
+ * Operators: =, &lt;&gt;, !=, &lt;, &lt;=, &gt;, &gt;=, [not] like, [not] in (...), [not] between ... and ...,
+ * is [not] null, combined with and, or, not and parentheses. Anything else (functions, subqueries, comments,
+ * other columns) is rejected with an IllegalArgumentException.
+ */
+public final class RuleSqlConditions {
+    private static final Set<String> KEYWORDS = Set.of("and", "or", "not", "is", "null", "in", "like", "between");
+    private static final Set<String> COMPARISONS = Set.of("=", "<>", "!=", "<", "<=", ">", ">=");
+
+    public record SqlCondition(String sql, Map<String, Object> parameters) {
+    }
+
+    private enum TokenType { NAME, KEYWORD, NUMBER, STRING, SYMBOL, END }
+
+    private record Token(TokenType type, String text, Object value) {
+        boolean is(TokenType type, String text) {
+            return this.type == type && this.text.equals(text);
+        }
+    }
+
+    private final RuleTarget<?> target;
+    private final List<Token> tokens;
+    private final StringBuilder sql = new StringBuilder();
+    private final Map<String, Object> parameters = new HashMap<>();
+    private int position;
+
+    private RuleSqlConditions(String sqlPart, RuleTarget<?> target) {
+        this.target = target;
+        this.tokens = tokenize(sqlPart);
+    }
+
+    public static SqlCondition compile(String sqlPart, RuleTarget<?> target) {
+        RuleSqlConditions parser = new RuleSqlConditions(sqlPart, target);
+        parser.disjunction();
+        if (parser.peek().type() != TokenType.END) {
+            throw new IllegalArgumentException("Unexpected \"" + parser.peek().text() + "\" in the SQL part");
+        }
+        return new SqlCondition(parser.sql.toString(), Map.copyOf(parser.parameters));
+    }
+
+    private void disjunction() {
+        conjunction();
+        while (accept(TokenType.KEYWORD, "or")) {
+            sql.append(" or ");
+            conjunction();
+        }
+    }
+
+    private void conjunction() {
+        negation();
+        while (accept(TokenType.KEYWORD, "and")) {
+            sql.append(" and ");
+            negation();
+        }
+    }
+
+    private void negation() {
+        if (accept(TokenType.KEYWORD, "not")) {
+            sql.append("not ");
+            negation();
+        } else if (accept(TokenType.SYMBOL, "(")) {
+            sql.append('(');
+            disjunction();
+            expect(TokenType.SYMBOL, ")");
+            sql.append(')');
+        } else {
+            predicate();
+        }
+    }
+
+    private void predicate() {
+        Token column = next();
+        if (column.type() != TokenType.NAME) {
+            throw new IllegalArgumentException("Expected a column instead of \"" + column.text() + "\"");
+        }
+        // throws for anything that is not a field of the target
+        target.field(column.text());
+        sql.append(column.text());
+
+        Token operator = next();
+        if (operator.type() == TokenType.SYMBOL && COMPARISONS.contains(operator.text())) {
+            sql.append(' ').append(operator.text()).append(' ');
+            constant();
+            return;
+        }
+        if (operator.is(TokenType.KEYWORD, "is")) {
+            sql.append(accept(TokenType.KEYWORD, "not") ? " is not null" : " is null");
+            expect(TokenType.KEYWORD, "null");
+            return;
+        }
+        if (operator.is(TokenType.KEYWORD, "not")) {
+            sql.append(" not");
+            operator = next();
+        }
+        if (operator.is(TokenType.KEYWORD, "like")) {
+            sql.append(" like ");
+            constant();
+        } else if (operator.is(TokenType.KEYWORD, "in")) {
+            sql.append(" in (");
+            expect(TokenType.SYMBOL, "(");
+            constant();
+            while (accept(TokenType.SYMBOL, ",")) {
+                sql.append(", ");
+                constant();
+            }
+            expect(TokenType.SYMBOL, ")");
+            sql.append(')');
+        } else if (operator.is(TokenType.KEYWORD, "between")) {
+            sql.append(" between ");
+            constant();
+            expect(TokenType.KEYWORD, "and");
+            sql.append(" and ");
+            constant();
+        } else {
+            throw new IllegalArgumentException("Unsupported operator \"" + operator.text() + "\" after " + column.text());
+        }
+    }
+
+    private void constant() {
+        Token token = next();
+        if (token.type() != TokenType.NUMBER && token.type() != TokenType.STRING) {
+            throw new IllegalArgumentException("Expected a number or a 'string' instead of \"" + token.text() + "\"");
+        }
+        String name = "p" + parameters.size();
+        parameters.put(name, token.value());
+        sql.append(':').append(name);
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token next() {
+        Token token = tokens.get(position);
+        if (token.type() != TokenType.END) {
+            position++;
+        }
+        return token;
+    }
+
+    private boolean accept(TokenType type, String text) {
+        if (peek().is(type, text)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(TokenType type, String text) {
+        if (!accept(type, text)) {
+            throw new IllegalArgumentException("Expected \"" + text + "\" instead of \"" + peek().text() + "\"");
+        }
+    }
+
+    private static List<Token> tokenize(String sqlPart) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < sqlPart.length()) {
+            char c = sqlPart.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < sqlPart.length()
+                        && (Character.isLetterOrDigit(sqlPart.charAt(i)) || sqlPart.charAt(i) == '_')) {
+                    i++;
+                }
+                String word = sqlPart.substring(start, i);
+                String keyword = word.toLowerCase(Locale.ROOT);
+                tokens.add(KEYWORDS.contains(keyword) ? new Token(TokenType.KEYWORD, keyword, null)
+                        : new Token(TokenType.NAME, word, null));
+            } else if (Character.isDigit(c) || (c == '-' && i + 1 < sqlPart.length()
+                    && Character.isDigit(sqlPart.charAt(i + 1)))) {
+                int start = i++;
+                while (i < sqlPart.length() && (Character.isDigit(sqlPart.charAt(i)) || sqlPart.charAt(i) == '.')) {
+                    i++;
+                }
+                String number = sqlPart.substring(start, i);
+                try {
+                    tokens.add(new Token(TokenType.NUMBER, number, new BigDecimal(number)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number in the SQL part: " + number);
+                }
+            } else if (c == '\'') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= sqlPart.length()) {
+                        throw new IllegalArgumentException("Unterminated string in the SQL part");
+                    }
+                    char s = sqlPart.charAt(i++);
+                    if (s == '\'') {
+                        if (i < sqlPart.length() && sqlPart.charAt(i) == '\'') {
+                            value.append('\'');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        value.append(s);
+                    }
+                }
+                tokens.add(new Token(TokenType.STRING, "'" + value + "'", value.toString()));
+            } else if (c == '<' || c == '>' || c == '!') {
+                String symbol = i + 1 < sqlPart.length()
+                        && (sqlPart.charAt(i + 1) == '=' || (c == '<' && sqlPart.charAt(i + 1) == '>'))
+                        ? sqlPart.substring(i, i + 2) : String.valueOf(c);
+                if (symbol.equals("!")) {
+                    throw new IllegalArgumentException("Unexpected \"!\" in the SQL part");
+                }
+                tokens.add(new Token(TokenType.SYMBOL, symbol, null));
+                i += symbol.length();
+            } else if (c == '=' || c == '(' || c == ')' || c == ',') {
+                tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c), null));
+                i++;
+            } else {
+                throw new IllegalArgumentException("Unexpected \"" + c + "\" in the SQL part");
+            }
+        }
+        tokens.add(new Token(TokenType.END, "end of the SQL part", null));
+        return tokens;
+    }
+}
@@ -0,0 +1,87 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Row types rules can be evaluated against: the fields conditions may use (also the only columns a SQL rule
+ * may name), and the table / id column SQL rules (RuleName.sqlPart) are run on.
+ */
+public final class RuleTarget<T> {
+    public static final RuleTarget<Trade> TRADE = new RuleTarget<>("trade", "TradeId", Trade::getTradeId, Map.ofEntries(
+            Map.entry("account", RuleField.text(Trade::getAccount)),
+            Map.entry("type", RuleField.text(Trade::getType)),
+            Map.entry("buyQuantity", RuleField.number(Trade::getBuyQuantity)),
+            Map.entry("sellQuantity", RuleField.number(Trade::getSellQuantity)),
+            Map.entry("buyPrice", RuleField.number(Trade::getBuyPrice)),
+            Map.entry("sellPrice", RuleField.number(Trade::getSellPrice)),
+            Map.entry("tradeDate", RuleField.time(Trade::getTradeDate)),
+            Map.entry("security", RuleField.text(Trade::getSecurity)),
+            Map.entry("status", RuleField.text(Trade::getStatus)),
+            Map.entry("trader", RuleField.text(Trade::getTrader)),
+            Map.entry("benchmark", RuleField.text(Trade::getBenchmark)),
+            Map.entry("book", RuleField.text(Trade::getBook)),
+            Map.entry("dealName", RuleField.text(Trade::getDealName)),
+            Map.entry("dealType", RuleField.text(Trade::getDealType)),
+            Map.entry("sourceListId", RuleField.text(Trade::getSourceListId)),
+            Map.entry("side", RuleField.text(Trade::getSide))));
+
+    public static final RuleTarget<BidList> BID_LIST = new RuleTarget<>("bidlist", "BidListId", BidList::getBidListId, Map.ofEntries(
+            Map.entry("account", RuleField.text(BidList::getAccount)),
+            Map.entry("type", RuleField.text(BidList::getType)),
+            Map.entry("bidQuantity", RuleField.number(BidList::getBidQuantity)),
+            Map.entry("askQuantity", RuleField.number(BidList::getAskQuantity)),
+            Map.entry("bid", RuleField.number(BidList::getBid)),
+            Map.entry("ask", RuleField.number(BidList::getAsk)),
+            Map.entry("benchmark", RuleField.text(BidList::getBenchmark)),
+            Map.entry("bidListDate", RuleField.time(BidList::getBidListDate)),
+            Map.entry("commentary", RuleField.text(BidList::getCommentary)),
+            Map.entry("security", RuleField.text(BidList::getSecurity)),
+            Map.entry("status", RuleField.text(BidList::getStatus)),
+            Map.entry("trader", RuleField.text(BidList::getTrader)),
+            Map.entry("book", RuleField.text(BidList::getBook)),
+            Map.entry("dealName", RuleField.text(BidList::getDealName)),
+            Map.entry("dealType", RuleField.text(BidList::getDealType)),
+            Map.entry("sourceListId", RuleField.text(BidList::getSourceListId)),
+            Map.entry("side", RuleField.text(BidList::getSide))));
+
+    private final String table;
+    private final String idColumn;
+    private final Function<T, Long> id;
+    private final Map<String, RuleField<T>> fields;
+
+    private RuleTarget(String table, String idColumn, Function<T, Long> id, Map<String, RuleField<T>> fields) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.id = id;
+        this.fields = fields;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String idColumn() {
+        return idColumn;
+    }
+
+    public Long idOf(T row) {
+        return id.apply(row);
+    }
+
+    public RuleField<T> field(String name) {
+        RuleField<T> field = fields.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown " + table + " field: " + name);
+        }
+        return field;
+    }
+
+    @Override
+    public String toString() {
+        return table;
+    }
+}
@@ -0,0 +1,26 @@
+package com.nnk.springboot.services;
+
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+
+/**
+ * Position of a row in a search listing, newest first: its date (null sorts after every date) and its id.
+ */
+public record SearchCursor(Timestamp date, Long id) {
+
+    /**
+     * The cursor sent back by a Next or Previous link, null without {@code id}. Throws IllegalArgumentException
+     * when {@code date} is not a timestamp.
+     */
+    public static SearchCursor of(String date, Long id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return new SearchCursor(StringUtils.hasLength(date) ? Timestamp.valueOf(date) : null, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + date);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * One page of search results. {@code previous} is the cursor of its first row when a page comes before it,
+ * {@code next} the cursor of its last row when one follows it; no total is counted.
+ */
+public record SearchPage<T>(List<T> content, int size, SearchCursor previous, SearchCursor next) {
+}
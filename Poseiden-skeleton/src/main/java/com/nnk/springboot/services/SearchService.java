@@ -0,0 +1,96 @@
+package com.nnk.springboot.services;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs the Specification of a search form one keyset page at a time, newest first: rows are ordered by a date
+ * then by id, both descending, and a page starts after (or ends before) the cursor of a row instead of skipping
+ * an offset, so that deep pages cost as much as the first one. Rows without date come last, as MySQL sorts
+ * nulls first ascending. Each page reads one row more than its size to know whether another one follows; the
+ * matching rows are not counted.
+ */
+@Service
+public class SearchService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The page following {@code after}, or the one preceding {@code before}, or the first page when both are null.
+     */
+    @Transactional(readOnly = true)
+    public <T> SearchPage<T> search(Class<T> type, Specification<T> specification, String dateAttribute,
+                                    String idAttribute, SearchCursor after, SearchCursor before, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        boolean backward = after == null && before != null;
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<Timestamp> date = root.get(dateAttribute);
+        Path<Long> id = root.get(idAttribute);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification.toPredicate(root, query, builder);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            predicates.add(after.date() == null
+                    ? builder.and(builder.isNull(date), builder.lessThan(id, after.id()))
+                    : builder.or(builder.lessThan(date, after.date()),
+                    builder.and(builder.equal(date, after.date()), builder.lessThan(id, after.id())),
+                    builder.isNull(date)));
+        } else if (backward) {
+            predicates.add(before.date() == null
+                    ? builder.or(builder.isNotNull(date), builder.greaterThan(id, before.id()))
+                    : builder.or(builder.greaterThan(date, before.date()),
+                    builder.and(builder.equal(date, before.date()), builder.greaterThan(id, before.id()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(backward
+                ? List.of(builder.asc(date), builder.asc(id))
+                : List.of(builder.desc(date), builder.desc(id)));
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(pageSize + 1)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+
+        boolean more = rows.size() > pageSize;
+        List<T> content = new ArrayList<>(more ? rows.subList(0, pageSize) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            return new SearchPage<>(content, pageSize, null, null);
+        }
+        boolean hasPrevious = backward ? more : after != null;
+        boolean hasNext = backward || more;
+        return new SearchPage<>(content, pageSize,
+                hasPrevious ? cursor(content.get(0), dateAttribute, idAttribute) : null,
+                hasNext ? cursor(content.get(content.size() - 1), dateAttribute, idAttribute) : null);
+    }
+
+    private static SearchCursor cursor(Object row, String dateAttribute, String idAttribute) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        return new SearchCursor((Timestamp) wrapper.getPropertyValue(dateAttribute),
+                (Long) wrapper.getPropertyValue(idAttribute));
+    }
+}
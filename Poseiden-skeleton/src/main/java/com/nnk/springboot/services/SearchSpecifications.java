@@ -0,0 +1,47 @@
+package com.nnk.springboot.services;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Criteria of the search forms, each one null (no restriction) when its field is left empty.
+ */
+final class SearchSpecifications {
+
+    private SearchSpecifications() {
+    }
+
+    static <T> Specification<T> equal(String attribute, String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get(attribute), value.trim());
+    }
+
+    /**
+     * Whole days from {@code from} to {@code to} included, as a half-open range on the column itself so that an
+     * index on it is used.
+     */
+    static <T> Specification<T> between(String attribute, LocalDate from, LocalDate to) {
+        Specification<T> after = from == null ? null : (root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<Timestamp>get(attribute), Timestamp.valueOf(from.atStartOfDay()));
+        Specification<T> before = to == null ? null : (root, query, builder) ->
+                builder.lessThan(root.<Timestamp>get(attribute), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        return Specification.where(after).and(before);
+    }
+
+    /**
+     * Case-insensitive substring, no index can serve it: it only filters the rows selected by the other criteria.
+     */
+    static <T> Specification<T> contains(String attribute, String text) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        String pattern = "%" + text.trim().toLowerCase()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, builder) -> builder.like(builder.lower(root.get(attribute)), pattern, '\\');
+    }
+}
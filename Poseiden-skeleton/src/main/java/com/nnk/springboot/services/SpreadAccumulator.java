@@ -0,0 +1,110 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.projections.SpreadTotals;
+
+import java.util.Objects;
+
+/**
+ * Mutable running totals of one group, primitives only. Not thread-safe: each fork-join leaf fills its own
+ * accumulators which are then merged. Null handling mirrors the SQL aggregates (BidListRepository), so both
+ * modes give the same figures.
+ */
+public final class SpreadAccumulator {
+    private long rowCount;
+    private long bidCount;
+    private long askCount;
+    private long quotedCount;
+    private double sumBid;
+    private double sumAsk;
+    private double bidQuantity;
+    private double askQuantity;
+    private double pricedBidQuantity;
+    private double pricedAskQuantity;
+    private double bidNotional;
+    private double askNotional;
+    private double sumSpread;
+    private double sumMid;
+
+    public static SpreadAccumulator of(SpreadTotals totals) {
+        SpreadAccumulator accumulator = new SpreadAccumulator();
+        accumulator.rowCount = totals.getRowCount();
+        accumulator.bidCount = totals.getBidCount();
+        accumulator.askCount = totals.getAskCount();
+        accumulator.quotedCount = totals.getQuotedCount();
+        accumulator.sumBid = zeroIfNull(totals.getSumBid());
+        accumulator.sumAsk = zeroIfNull(totals.getSumAsk());
+        accumulator.bidQuantity = zeroIfNull(totals.getBidQuantity());
+        accumulator.askQuantity = zeroIfNull(totals.getAskQuantity());
+        accumulator.pricedBidQuantity = zeroIfNull(totals.getPricedBidQuantity());
+        accumulator.pricedAskQuantity = zeroIfNull(totals.getPricedAskQuantity());
+        accumulator.bidNotional = zeroIfNull(totals.getBidNotional());
+        accumulator.askNotional = zeroIfNull(totals.getAskNotional());
+        accumulator.sumSpread = zeroIfNull(totals.getSumSpread());
+        accumulator.sumMid = zeroIfNull(totals.getSumMid());
+        return accumulator;
+    }
+
+    public void add(Double bid, Double ask, Double bidQty, Double askQty) {
+        rowCount++;
+        if (bidQty != null) {
+            bidQuantity += bidQty;
+        }
+        if (askQty != null) {
+            askQuantity += askQty;
+        }
+        if (bid != null) {
+            bidCount++;
+            sumBid += bid;
+            if (bidQty != null) {
+                pricedBidQuantity += bidQty;
+                bidNotional += bid * bidQty;
+            }
+        }
+        if (ask != null) {
+            askCount++;
+            sumAsk += ask;
+            if (askQty != null) {
+                pricedAskQuantity += askQty;
+                askNotional += ask * askQty;
+            }
+        }
+        if (bid != null && ask != null) {
+            quotedCount++;
+            sumSpread += ask - bid;
+            sumMid += (ask + bid) / 2;
+        }
+    }
+
+    public void merge(SpreadAccumulator other) {
+        rowCount += other.rowCount;
+        bidCount += other.bidCount;
+        askCount += other.askCount;
+        quotedCount += other.quotedCount;
+        sumBid += other.sumBid;
+        sumAsk += other.sumAsk;
+        bidQuantity += other.bidQuantity;
+        askQuantity += other.askQuantity;
+        pricedBidQuantity += other.pricedBidQuantity;
+        pricedAskQuantity += other.pricedAskQuantity;
+        bidNotional += other.bidNotional;
+        askNotional += other.askNotional;
+        sumSpread += other.sumSpread;
+        sumMid += other.sumMid;
+    }
+
+    public SpreadSummary toSummary(String group) {
+        return new SpreadSummary(group, rowCount, quotedCount,
+                ratio(sumBid, bidCount), ratio(sumAsk, askCount),
+                ratio(sumSpread, quotedCount), ratio(sumMid, quotedCount),
+                ratio(bidNotional, pricedBidQuantity), ratio(askNotional, pricedAskQuantity),
+                bidQuantity, askQuantity, bidNotional, askNotional);
+    }
+
+    private static Double ratio(double total, double count) {
+        return count == 0 ? null : total / count;
+    }
+
+    private static double zeroIfNull(Double value) {
+        return Objects.requireNonNullElse(value, 0d);
+    }
+}
@@ -0,0 +1,60 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.projections.BidListRiskRow;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join reduction of one chunk of rows into accumulators per group. The row list must be random access.
+ */
+public class SpreadReduction extends RecursiveTask<Map<String, SpreadAccumulator>> {
+    static final int LEAF_SIZE = 2048;
+
+    private final List<BidListRiskRow> rows;
+    private final RiskGrouping grouping;
+    private final int from;
+    private final int to;
+
+    public SpreadReduction(List<BidListRiskRow> rows, RiskGrouping grouping) {
+        this(rows, grouping, 0, rows.size());
+    }
+
+    private SpreadReduction(List<BidListRiskRow> rows, RiskGrouping grouping, int from, int to) {
+        this.rows = rows;
+        this.grouping = grouping;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Merges source into target, reusing the accumulators of source.
+     */
+    public static void mergeInto(Map<String, SpreadAccumulator> target, Map<String, SpreadAccumulator> source) {
+        source.forEach((group, accumulator) -> target.merge(group, accumulator, (left, right) -> {
+            left.merge(right);
+            return left;
+        }));
+    }
+
+    @Override
+    protected Map<String, SpreadAccumulator> compute() {
+        if (to - from <= LEAF_SIZE) {
+            Map<String, SpreadAccumulator> totals = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                BidListRiskRow row = rows.get(i);
+                totals.computeIfAbsent(grouping.keyOf(row), group -> new SpreadAccumulator())
+                        .add(row.bid(), row.ask(), row.bidQuantity(), row.askQuantity());
+            }
+            return totals;
+        }
+        int middle = (from + to) >>> 1;
+        SpreadReduction left = new SpreadReduction(rows, grouping, from, middle);
+        left.fork();
+        Map<String, SpreadAccumulator> totals = new SpreadReduction(rows, grouping, middle, to).compute();
+        mergeInto(totals, left.join());
+        return totals;
+    }
+}
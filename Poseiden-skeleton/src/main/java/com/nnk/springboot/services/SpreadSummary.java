@@ -0,0 +1,11 @@
+package com.nnk.springboot.services;
+
+/**
+ * Bid/ask figures of one book or trader. Averages are null when no row of the group has the price;
+ * spread and mid only use rows quoted on both sides, weighted prices are notional / quantity.
+ */
+public record SpreadSummary(String group, long rowCount, long quotedCount,
+                            Double averageBid, Double averageAsk, Double averageSpread, Double averageMid,
+                            Double weightedBid, Double weightedAsk,
+                            double bidQuantity, double askQuantity, double bidNotional, double askNotional) {
+}
@@ -0,0 +1,443 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.TradeChangedEvent;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trade capture from the trade form. Synchronous by default; with app.trades.write-behind.enabled=true a
+ * captured trade is queued and a single writer thread:
+ * <ol>
+ * <li>appends everything queued to a local journal and fsyncs it once, then acknowledges those trades;</li>
+ * <li>stores the journaled trades in one transaction once batch-size of them are waiting or the oldest has
+ * waited max-delay (group commit), together with the journal sequence number reached;</li>
+ * <li>empties the journal, every record in it being stored.</li>
+ * </ol>
+ * An acknowledged trade is therefore either in the database or in the journal, which is replayed at startup from
+ * the stored sequence number on. A full queue pushes back on the callers, which wait up to offer-timeout and are
+ * then rejected. Write-behind trades show up in the list once stored, and have no id when acknowledged.
+ * <p>
+ * Started before and stopped after the web server, so that the journal is replayed before any new trade comes in
+ * and the queue is drained once none can come in anymore.
+ * <p>
+ * The writer retries after any failure but a broken journal. If it stops anyway, captures are rejected at once
+ * and the failure is reported by writerFailure(), shown by the tradeCapture health indicator.
+ */
+@Service
+public class TradeCaptureService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TradeCaptureService.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.trades.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.trades.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.trades.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.trades.write-behind.max-delay:50ms}")
+    private Duration maxDelay;
+
+    @Value("${app.trades.write-behind.offer-timeout:1s}")
+    private Duration offerTimeout;
+
+    @Value("${app.trades.write-behind.journal:trade-capture.journal}")
+    private Path journalPath;
+
+    private BlockingQueue<Captured> queue;
+    private FileChannel journal;
+    private ObjectWriter tradeWriter;
+    private ObjectReader tradeReader;
+    private TransactionTemplate transaction;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile Throwable failure;
+    private long sequence;
+    // checkpoint committed by the writer: a retry after a partly stored batch skips the trades up to it
+    private long stored;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        tradeWriter = objectMapper.writerFor(Trade.class);
+        tradeReader = objectMapper.readerFor(Trade.class);
+        transaction = new TransactionTemplate(transactionManager);
+        try {
+            replay();
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay trade capture journal " + journalPath, e);
+        }
+        running = true;
+        writer = new Thread(this::write, "trade-capture-writer");
+        writer.start();
+    }
+
+    /**
+     * Stores the trade, or with write-behind returns once it is journaled.
+     *
+     * @throws RejectedExecutionException when the write-behind queue stays full for offer-timeout, or the writer
+     * has stopped
+     */
+    public void capture(Trade trade) {
+        if (!enabled) {
+            tradeService.save(trade);
+            return;
+        }
+        trade.setTradeId(null);
+        trade.setCreationDate(new Timestamp(System.currentTimeMillis()));
+        Captured captured = new Captured(trade, new CompletableFuture<>());
+        try {
+            if (failure != null) {
+                throw new RejectedExecutionException("Trade capture writer has stopped", failure);
+            }
+            if (!running || !queue.offer(captured, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Trade capture queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the trade capture queue", e);
+        }
+        // queued after a failing writer rejected what was queued: nobody would complete it
+        if (failure != null && queue.remove(captured)) {
+            throw new RejectedExecutionException("Trade capture writer has stopped", failure);
+        }
+        try {
+            captured.journaled().join();
+        } catch (CompletionException e) {
+            throw new RejectedExecutionException("Trade was not journaled", e.getCause());
+        }
+    }
+
+    public int queued() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Why the write-behind writer stopped while it was running, null while it works (or write-behind is off).
+     */
+    public Throwable writerFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops taking trades and waits for the writer to journal and store what is queued.
+     */
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close trade capture journal", e);
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // below the web server (SmartLifecycle.DEFAULT_PHASE - 2048): started before it, stopped after it
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void write() {
+        try {
+            writeQueued();
+        } catch (IOException e) {
+            // the pending trades are acknowledged and still journaled, the writer cannot go on without a journal
+            stopWriting(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (running) {
+                stopWriting(e);
+            }
+        } catch (Error e) {
+            stopWriting(e);
+            throw e;
+        }
+    }
+
+    private void stopWriting(Throwable e) {
+        log.error("Trade capture writer stopped, rejecting captured trades", e);
+        failure = e;
+        running = false;
+        for (Captured rejected = queue.poll(); rejected != null; rejected = queue.poll()) {
+            rejected.journaled().completeExceptionally(e);
+        }
+    }
+
+    private void writeQueued() throws IOException, InterruptedException {
+        List<Captured> captured = new ArrayList<>(batchSize);
+        List<Journaled> pending = new ArrayList<>(batchSize);
+        long oldest = 0;
+        while (running || !queue.isEmpty() || !pending.isEmpty()) {
+            try {
+                long wait = pending.isEmpty() ? maxDelay.toNanos() : oldest + maxDelay.toNanos() - System.nanoTime();
+                Captured first = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                if (first != null) {
+                    captured.add(first);
+                    queue.drainTo(captured, batchSize - 1);
+                    if (pending.isEmpty()) {
+                        oldest = System.nanoTime();
+                    }
+                    pending.addAll(append(captured));
+                    captured.clear();
+                }
+                if (!pending.isEmpty() && (pending.size() >= batchSize || !running
+                        || System.nanoTime() - oldest >= maxDelay.toNanos())) {
+                    if (!storeRetrying(pending)) {
+                        return;
+                    }
+                    pending.clear();
+                    journal.truncate(0);
+                }
+            } catch (RuntimeException e) {
+                // trades not journaled yet are failed, the journaled ones stay pending and are stored at the next turn
+                captured.forEach(trade -> trade.journaled().completeExceptionally(e));
+                captured.clear();
+                if (!running) {
+                    log.warn("Could not store {} captured trades, they are replayed from the journal at startup",
+                            pending.size(), e);
+                    return;
+                }
+                log.warn("Trade capture writer failed, retrying in {}", RETRY_DELAY, e);
+                Thread.sleep(RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Appends the trades to the journal with one fsync and acknowledges them. A trade that cannot be journaled is
+     * failed, not acknowledged.
+     */
+    private List<Journaled> append(List<Captured> captured) throws IOException {
+        List<Journaled> journaled = new ArrayList<>(captured.size());
+        StringBuilder records = new StringBuilder();
+        for (Captured trade : captured) {
+            try {
+                String json = tradeWriter.writeValueAsString(trade.trade());
+                journaled.add(new Journaled(++sequence, trade.trade()));
+                records.append(sequence).append('\t').append(json).append('\n');
+            } catch (IOException e) {
+                trade.journaled().completeExceptionally(e);
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+        } catch (IOException e) {
+            captured.forEach(trade -> trade.journaled().completeExceptionally(e));
+            throw e;
+        }
+        captured.forEach(trade -> trade.journaled().complete(null));
+        return journaled;
+    }
+
+    /**
+     * Keeps the queue blocked, and so the callers pushed back, while the database is unavailable. Returns false
+     * when it gives up because the application is stopping.
+     */
+    private boolean storeRetrying(List<Journaled> trades) throws InterruptedException {
+        while (true) {
+            try {
+                store(trades);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                storeOneByOne(trades);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Could not store {} captured trades, they are replayed from the journal at startup",
+                            trades.size(), e);
+                    return false;
+                }
+                log.warn("Could not store {} captured trades, retrying in {}", trades.size(), RETRY_DELAY, e);
+                Thread.sleep(RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    /**
+     * A trade the database rejects (e.g. a column too long) would be rejected at every retry: it is logged and
+     * dropped, the others are stored.
+     */
+    private void storeOneByOne(List<Journaled> trades) {
+        for (Journaled trade : trades) {
+            try {
+                store(List.of(trade));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropped captured trade {}: {}", trade.sequence(), e.getMostSpecificCause().getMessage());
+            }
+        }
+        long last = trades.get(trades.size() - 1).sequence();
+        checkpoint(last);
+        stored = last;
+    }
+
+    /**
+     * Stores the trades after the checkpoint with the checkpoint moved to the last one, in one transaction.
+     */
+    private void store(List<Journaled> trades) {
+        List<Journaled> unstored = trades.stream().filter(trade -> trade.sequence() > stored).toList();
+        if (unstored.isEmpty()) {
+            return;
+        }
+        long last = unstored.get(unstored.size() - 1).sequence();
+        transaction.executeWithoutResult(status -> {
+            List<Trade> batch = new ArrayList<>(unstored.size());
+            for (Journaled trade : unstored) {
+                // a failed attempt may have assigned an id
+                trade.trade().setTradeId(null);
+                batch.add(trade.trade());
+            }
+            for (Trade saved : tradeRepository.saveAll(batch)) {
+                eventPublisher.publishEvent(new TradeChangedEvent(ChangeType.CREATED, null, saved));
+            }
+            checkpoint(last);
+        });
+        stored = last;
+    }
+
+    private void checkpoint(long lastSequence) {
+        jdbcTemplate.update("update trade_capture_checkpoint set lastSequence = ? where Id = 1", lastSequence);
+    }
+
+    /**
+     * Stores the journal records after the checkpoint. A last record cut by a crash was never acknowledged and
+     * is ignored.
+     */
+    private void replay() throws IOException {
+        Long checkpoint = jdbcTemplate.queryForObject("select lastSequence from trade_capture_checkpoint where Id = 1",
+                Long.class);
+        sequence = checkpoint == null ? 0 : checkpoint;
+        stored = sequence;
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        List<Journaled> batch = new ArrayList<>(batchSize);
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                Journaled record = parse(line);
+                if (record == null || record.sequence() <= sequence) {
+                    continue;
+                }
+                sequence = record.sequence();
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    replayed += storeReplayed(batch);
+                }
+            }
+        }
+        replayed += storeReplayed(batch);
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+        log.info("Replayed {} captured trades from {}", replayed, journalPath);
+    }
+
+    private int storeReplayed(List<Journaled> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            try {
+                store(batch);
+            } catch (DataIntegrityViolationException e) {
+                storeOneByOne(batch);
+            }
+            batch.clear();
+        }
+        return size;
+    }
+
+    private Journaled parse(String line) {
+        int tab = line.indexOf('\t');
+        if (tab < 0) {
+            return null;
+        }
+        try {
+            return new Journaled(Long.parseLong(line.substring(0, tab)), tradeReader.readValue(line.substring(tab + 1)));
+        } catch (NumberFormatException | IOException e) {
+            log.warn("Skipped incomplete trade capture journal record: {}", line);
+            return null;
+        }
+    }
+
+    private record Captured(Trade trade, CompletableFuture<Void> journaled) {
+    }
+
+    private record Journaled(long sequence, Trade trade) {
+    }
+}
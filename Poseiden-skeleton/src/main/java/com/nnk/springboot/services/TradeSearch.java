@@ -0,0 +1,24 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Trade search form, empty fields are ignored. Dates bound the trade date.
+ */
+public record TradeSearch(String account, String security, String trader, String book, String status,
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    public Specification<Trade> specification() {
+        return Specification.<Trade>where(SearchSpecifications.equal("account", account))
+                .and(SearchSpecifications.equal("security", security))
+                .and(SearchSpecifications.equal("trader", trader))
+                .and(SearchSpecifications.equal("book", book))
+                .and(SearchSpecifications.equal("status", status))
+                .and(SearchSpecifications.between("tradeDate", from, to));
+    }
+}
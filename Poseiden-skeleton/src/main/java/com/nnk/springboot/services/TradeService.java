@@ -0,0 +1,133 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BulkChangedEvent;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.TradeChangedEvent;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.projections.TradeSummary;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class TradeService {
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<TradeSummary> findAllSummaries() {
+        return tradeRepository.findAllProjectedBy(Sort.by("tradeId"));
+    }
+
+    /**
+     * Newest first, see SearchService for the paging.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<Trade> search(TradeSearch search, SearchCursor after, SearchCursor before, int size) {
+        return searchService.search(Trade.class, search.specification(), "tradeDate", "tradeId", after, before, size);
+    }
+
+    @Transactional(readOnly = true)
+    public Trade findById(Long id) {
+        return tradeRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid trade Id:" + id));
+    }
+
+    @Transactional
+    public Trade save(Trade trade) {
+        trade.setTradeId(null);
+        trade.setCreationDate(new Timestamp(System.currentTimeMillis()));
+        Trade saved = tradeRepository.save(trade);
+        eventPublisher.publishEvent(new TradeChangedEvent(ChangeType.CREATED, null, saved));
+        return saved;
+    }
+
+    @Transactional
+    public Trade update(Long id, Trade trade) {
+        Trade existing = findById(id);
+        Trade previous = new Trade();
+        BeanUtils.copyProperties(existing, previous);
+
+        trade.setTradeId(id);
+        trade.setCreationName(existing.getCreationName());
+        trade.setCreationDate(existing.getCreationDate());
+        trade.setRevisionDate(new Timestamp(System.currentTimeMillis()));
+        Trade saved = tradeRepository.save(trade);
+        eventPublisher.publishEvent(new TradeChangedEvent(ChangeType.UPDATED, previous, saved));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Trade trade = findById(id);
+        tradeRepository.delete(trade);
+        eventPublisher.publishEvent(new TradeChangedEvent(ChangeType.DELETED, trade, null));
+    }
+
+    /**
+     * Single DELETE statement whatever the number of ids, no row is loaded. Returns the number of rows deleted.
+     */
+    @Transactional
+    public int deleteAll(Collection<Long> ids) {
+        return bulkChanged(ChangeType.DELETED, ids.isEmpty() ? 0 : tradeRepository.bulkDeleteByIds(ids));
+    }
+
+    @Transactional
+    public int deleteMatching(BulkFilter filter) {
+        return bulkChanged(ChangeType.DELETED, tradeRepository.bulkDeleteByFilter(filter.status(), filter.book()));
+    }
+
+    @Transactional
+    public int updateStatus(Collection<Long> ids, String status) {
+        return bulkChanged(ChangeType.UPDATED, ids.isEmpty() ? 0
+                : tradeRepository.bulkUpdateStatusByIds(ids, status, new Timestamp(System.currentTimeMillis())));
+    }
+
+    @Transactional
+    public int updateStatusMatching(BulkFilter filter, String status) {
+        return bulkChanged(ChangeType.UPDATED, tradeRepository.bulkUpdateStatusByFilter(filter.status(), filter.book(),
+                status, new Timestamp(System.currentTimeMillis())));
+    }
+
+    public ImportReport importFile(InputStream input, ImportFormat format) throws IOException {
+        return bulkImportService.importRows(input, format, Trade.class, tradeRepository, trade -> trade.setTradeId(null),
+                trade -> eventPublisher.publishEvent(new TradeChangedEvent(ChangeType.CREATED, null, trade)));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream output) throws IOException {
+        try (Stream<Trade> rows = tradeRepository.streamAll()) {
+            csvExportService.write(rows, Trade.class, output);
+        }
+    }
+
+    private int bulkChanged(ChangeType type, int rows) {
+        if (rows > 0) {
+            eventPublisher.publishEvent(new BulkChangedEvent(Trade.class, type, rows));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,88 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.UserChangedEvent;
+import com.nnk.springboot.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Passwords are expected already hashed (see PasswordHashingService). Roles are stored without the ROLE_ prefix
+ * Spring Security adds to them, a user without role is rejected.
+ */
+@Service
+public class UserService {
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<User> findAll() {
+        return userRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public User findById(Long id) {
+        return userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid user Id:" + id));
+    }
+
+    @Transactional
+    public User save(User user) {
+        user.setId(null);
+        user.setRole(requireRole(user.getRole()));
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.CREATED, saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public User update(Long id, User user) {
+        user.setId(id);
+        user.setRole(requireRole(user.getRole()));
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.UPDATED, id));
+        return saved;
+    }
+
+    /**
+     * Single DELETE statement, the user is not loaded first.
+     */
+    @Transactional
+    public void delete(Long id) {
+        if (userRepository.deleteUserById(id) == 0) {
+            throw new IllegalArgumentException("Invalid user Id:" + id);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.DELETED, id));
+    }
+
+    /**
+     * The role without ROLE_ prefix nor surrounding blanks, null when there is none.
+     */
+    static String normalizeRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        String name = role.trim();
+        if (name.startsWith(ROLE_PREFIX)) {
+            name = name.substring(ROLE_PREFIX.length()).trim();
+        }
+        return name.isEmpty() ? null : name;
+    }
+
+    private static String requireRole(String role) {
+        String name = normalizeRole(role);
+        if (name == null) {
+            throw new IllegalArgumentException("Role is mandatory");
+        }
+        return name;
+    }
+}
@@ -0,0 +1,52 @@
+package com.nnk.springboot.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves requests, MVC async requests (CSV exports) and unqualified {@code @Async} methods on virtual threads
+ * when app.threads.virtual=true. Only compiled by the java21 profile.
+ * <p>
+ * Tomcat's thread limit no longer bounds concurrency: requests wait for a connection in the Hikari pool instead
+ * (maximum-pool-size, connection-timeout). The password hashing executor keeps its platform threads, hashing
+ * is CPU bound.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService requestVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory());
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService requestVirtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestVirtualThreadExecutor);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService taskVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory());
+    }
+
+    /**
+     * Registered under the names Spring MVC (async requests) and {@code @Async} look up. The adapter has no
+     * lifecycle: taskVirtualThreadExecutor is closed on shutdown, which waits for the running tasks.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService taskVirtualThreadExecutor) {
+        return new TaskExecutorAdapter(taskVirtualThreadExecutor);
+    }
+}
@@ -0,0 +1,132 @@
+-- Ids come from the *_seq tables (Hibernate pooled generators, allocationSize = 50 on the entities) instead of
+-- AUTO_INCREMENT so that inserts can be JDBC-batched. Column names are the entity field names
+-- (PhysicalNamingStrategyStandardImpl), dates are DATETIME(6) to avoid the TIMESTAMP 2038 limit.
+
+CREATE TABLE bidlist (
+  BidListId BIGINT NOT NULL,
+  account VARCHAR(30) NOT NULL,
+  type VARCHAR(30) NOT NULL,
+  bidQuantity DOUBLE,
+  askQuantity DOUBLE,
+  bid DOUBLE,
+  ask DOUBLE,
+  benchmark VARCHAR(125),
+  bidListDate DATETIME(6),
+  commentary VARCHAR(125),
+  security VARCHAR(125),
+  status VARCHAR(10),
+  trader VARCHAR(125),
+  book VARCHAR(125),
+  creationName VARCHAR(125),
+  creationDate DATETIME(6),
+  revisionName VARCHAR(125),
+  revisionDate DATETIME(6),
+  dealName VARCHAR(125),
+  dealType VARCHAR(125),
+  sourceListId VARCHAR(125),
+  side VARCHAR(125),
+
+  PRIMARY KEY (BidListId)
+);
+
+-- bids of an account, narrowed by status and ordered by date
+CREATE INDEX ix_bidlist_account_status_date ON bidlist (account, status, bidListDate);
+
+CREATE TABLE trade (
+  TradeId BIGINT NOT NULL,
+  account VARCHAR(30) NOT NULL,
+  type VARCHAR(30) NOT NULL,
+  buyQuantity DOUBLE,
+  sellQuantity DOUBLE,
+  buyPrice DOUBLE,
+  sellPrice DOUBLE,
+  tradeDate DATETIME(6),
+  security VARCHAR(125),
+  status VARCHAR(10),
+  trader VARCHAR(125),
+  benchmark VARCHAR(125),
+  book VARCHAR(125),
+  creationName VARCHAR(125),
+  creationDate DATETIME(6),
+  revisionName VARCHAR(125),
+  revisionDate DATETIME(6),
+  dealName VARCHAR(125),
+  dealType VARCHAR(125),
+  sourceListId VARCHAR(125),
+  side VARCHAR(125),
+
+  PRIMARY KEY (TradeId)
+);
+
+-- trades of an account and book, ordered by date
+CREATE INDEX ix_trade_account_book_date ON trade (account, book, tradeDate);
+
+CREATE TABLE curvepoint (
+  Id BIGINT NOT NULL,
+  CurveId INT,
+  asOfDate DATETIME(6),
+  term DOUBLE,
+  value DOUBLE,
+  creationDate DATETIME(6),
+
+  PRIMARY KEY (Id)
+);
+
+-- CurveService loads every point of one (CurveId, asOfDate) ordered by term
+CREATE INDEX ix_curvepoint_curve_date_term ON curvepoint (CurveId, asOfDate, term);
+
+CREATE TABLE rating (
+  Id BIGINT NOT NULL,
+  moodysRating VARCHAR(125),
+  sandPRating VARCHAR(125),
+  fitchRating VARCHAR(125),
+  orderNumber INT,
+
+  PRIMARY KEY (Id)
+);
+
+CREATE TABLE rulename (
+  Id BIGINT NOT NULL,
+  name VARCHAR(125),
+  description VARCHAR(125),
+  json VARCHAR(2048),
+  template VARCHAR(512),
+  sqlStr VARCHAR(2048),
+  sqlPart VARCHAR(2048),
+
+  PRIMARY KEY (Id)
+);
+
+CREATE TABLE users (
+  Id BIGINT NOT NULL,
+  username VARCHAR(125) NOT NULL,
+  password VARCHAR(255),
+  fullname VARCHAR(125),
+  role VARCHAR(125),
+
+  PRIMARY KEY (Id)
+);
+
+-- login looks users up by name
+CREATE UNIQUE INDEX ux_users_username ON users (username);
+
+-- one row per generator holding the next id to hand out, in the layout Hibernate uses on databases without
+-- sequences
+CREATE TABLE bidlist_seq (next_val BIGINT);
+INSERT INTO bidlist_seq VALUES (1);
+CREATE TABLE trade_seq (next_val BIGINT);
+INSERT INTO trade_seq VALUES (1);
+CREATE TABLE curvepoint_seq (next_val BIGINT);
+INSERT INTO curvepoint_seq VALUES (1);
+CREATE TABLE rating_seq (next_val BIGINT);
+INSERT INTO rating_seq VALUES (1);
+CREATE TABLE rulename_seq (next_val BIGINT);
+INSERT INTO rulename_seq VALUES (1);
+CREATE TABLE users_seq (next_val BIGINT);
+-- the first block starts after the two accounts below (a pooled generator reading 101 hands out 52 to 101)
+INSERT INTO users_seq VALUES (101);
+
+INSERT INTO users (Id, fullname, username, password, role)
+VALUES (1, 'Administrator', 'admin', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'ADMIN');
+INSERT INTO users (Id, fullname, username, password, role)
+VALUES (2, 'User', 'user', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'USER');
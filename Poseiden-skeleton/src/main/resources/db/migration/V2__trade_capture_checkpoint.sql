@@ -0,0 +1,10 @@
+-- sequence number of the last trade capture journal record stored, updated in the same transaction as the
+-- trades so that replaying the journal after a crash never inserts a trade twice (see TradeCaptureService)
+CREATE TABLE trade_capture_checkpoint (
+  Id TINYINT NOT NULL,
+  lastSequence BIGINT NOT NULL,
+
+  PRIMARY KEY (Id)
+);
+
+INSERT INTO trade_capture_checkpoint VALUES (1, 0);
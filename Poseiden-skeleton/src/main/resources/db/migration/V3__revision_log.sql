@@ -0,0 +1,16 @@
+-- append-only history of Trade and BidList written by RevisionLogService: one row per committed insert, update
+-- or delete, state being the entity as JSON after the change (before it for a delete)
+CREATE TABLE revision_log (
+  Id BIGINT NOT NULL AUTO_INCREMENT,
+  entity VARCHAR(30) NOT NULL,
+  entityId BIGINT NOT NULL,
+  revisionType VARCHAR(10) NOT NULL,
+  revisionDate DATETIME(6) NOT NULL,
+  revisionName VARCHAR(125),
+  state TEXT,
+
+  PRIMARY KEY (Id)
+);
+
+-- as-of lookups: latest revision of one entity before a date
+CREATE INDEX ix_revision_log_entity_date ON revision_log (entity, entityId, revisionDate);
@@ -0,0 +1,13 @@
+-- search forms (TradeSearch, BidListSearch): each index starts with an equality criterion and ends with the
+-- date, so that the filtered rows are read newest first without sorting; ix_*_date serves searches by date
+-- only. account searches use ix_trade_account_book_date and ix_bidlist_account_status_date from V1, status
+-- alone is too little selective to be worth an index.
+CREATE INDEX ix_trade_security_date ON trade (security, tradeDate);
+CREATE INDEX ix_trade_trader_date ON trade (trader, tradeDate);
+CREATE INDEX ix_trade_book_status_date ON trade (book, status, tradeDate);
+CREATE INDEX ix_trade_date ON trade (tradeDate);
+
+CREATE INDEX ix_bidlist_security_date ON bidlist (security, bidListDate);
+CREATE INDEX ix_bidlist_trader_date ON bidlist (trader, bidListDate);
+CREATE INDEX ix_bidlist_book_status_date ON bidlist (book, status, bidListDate);
+CREATE INDEX ix_bidlist_date ON bidlist (bidListDate);
@@ -0,0 +1,5 @@
+-- keyset pages of the bid list view (BidListRepository.findPageAfter*) order by the sort column then BidListId:
+-- these indexes let each page be a range read of its size, without a filesort. The bidListDate sort uses
+-- ix_bidlist_date from V4, InnoDB appends the primary key to every secondary index.
+CREATE INDEX ix_bidlist_account_id ON bidlist (account, BidListId);
+CREATE INDEX ix_bidlist_book_id ON bidlist (book, BidListId);
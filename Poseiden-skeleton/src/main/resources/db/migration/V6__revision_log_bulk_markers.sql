@@ -0,0 +1,2 @@
+-- a JPQL bulk statement on Trade or BidList is logged as one row without entityId (see RevisionLogService.asOf)
+ALTER TABLE revision_log MODIFY entityId BIGINT NULL;
@@ -0,0 +1,76 @@
+/*
+ * Live list: applies the rows pushed on the event stream of the table (data-stream) to its body. Cells are
+ * matched on the data-field of their column header; new rows are only added when the table has
+ * data-append="true" (a page showing the last rows by id). Reloads the page when the server asks for it (bulk
+ * delete) and when the stream reconnects, changes sent in between being lost.
+ */
+(function () {
+	var table = document.querySelector('table[data-stream]');
+	if (!table || !window.EventSource) {
+		return;
+	}
+	var body = table.tBodies[0];
+	var fields = Array.prototype.map.call(table.tHead.rows[0].cells, function (cell) {
+		return cell.getAttribute('data-field');
+	});
+
+	function newRow(id) {
+		var row = document.createElement('tr');
+		row.setAttribute('data-id', id);
+		fields.forEach(function (field, index) {
+			var cell = row.insertCell();
+			if (field) {
+				cell.setAttribute('data-field', field);
+			} else if (index === 0) {
+				cell.textContent = id;
+			} else {
+				cell.className = 'text-center';
+				var edit = document.createElement('a');
+				edit.href = table.getAttribute('data-edit') + id;
+				edit.textContent = 'Edit';
+				var remove = document.createElement('a');
+				remove.href = table.getAttribute('data-delete') + id;
+				remove.textContent = 'Delete';
+				cell.appendChild(edit);
+				cell.appendChild(document.createTextNode(' | '));
+				cell.appendChild(remove);
+			}
+		});
+		return row;
+	}
+
+	var source = new EventSource(table.getAttribute('data-stream'));
+	var opened = false;
+	source.onopen = function () {
+		if (opened) {
+			window.location.reload();
+		}
+		opened = true;
+	};
+	source.addEventListener('reload', function () {
+		window.location.reload();
+	});
+	source.addEventListener('rows', function (event) {
+		JSON.parse(event.data).forEach(function (change) {
+			var row = body.querySelector('tr[data-id="' + change.id + '"]');
+			if (change.deleted) {
+				if (row) {
+					body.removeChild(row);
+				}
+				return;
+			}
+			if (!row) {
+				if (table.getAttribute('data-append') !== 'true') {
+					return;
+				}
+				row = body.appendChild(newRow(change.id));
+			}
+			Object.keys(change.values).forEach(function (field) {
+				var cell = row.querySelector('td[data-field="' + field + '"]');
+				if (cell) {
+					cell.textContent = change.values[field] === null ? '' : change.values[field];
+				}
+			});
+		});
+	});
+})();
@@ -0,0 +1,103 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.projections.BidListSummary;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.BidListSort;
+import com.nnk.springboot.services.KeysetPage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class BidListPaginationTests {
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private BidListService bidListService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<BidList> saved = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		for (int i = 0; i < 7; i++) {
+			BidList bid = new BidList("Account " + (i % 3), "Type Test", 10d);
+			bid.setBook(i % 2 == 0 ? null : "Book " + i);
+			saved.add(bidListRepository.save(bid));
+		}
+	}
+
+	@After
+	public void tearDown() {
+		bidListRepository.deleteAll(saved);
+	}
+
+	@Test
+	public void pagesDoNotOverlapForEachSort() {
+		for (BidListSort sort : BidListSort.values()) {
+			Set<Long> seen = new HashSet<>();
+			KeysetPage<BidListSummary> page = bidListService.findPage(sort, null, null, 2);
+			while (true) {
+				Assert.assertTrue(page.content().size() <= 2);
+				for (BidListSummary bid : page.content()) {
+					Assert.assertTrue(sort + " returned id " + bid.getBidListId() + " twice", seen.add(bid.getBidListId()));
+				}
+				if (!page.hasNext()) {
+					break;
+				}
+				page = bidListService.findPage(sort, page.nextAfter(), page.nextAfterId(), 2);
+			}
+			for (BidList bid : saved) {
+				Assert.assertTrue(sort + " skipped id " + bid.getBidListId(), seen.contains(bid.getBidListId()));
+			}
+		}
+	}
+
+	@Test
+	public void rowsWithoutAccountComeFirstByAccount() {
+		List<Long> blank = List.of(1_000_000_001L, 1_000_000_002L, 1_000_000_003L);
+		jdbcTemplate.update("insert into bidlist (BidListId, account, type) values (?, null, 'Type Test')", blank.get(0));
+		jdbcTemplate.update("insert into bidlist (BidListId, account, type) values (?, '', 'Type Test')", blank.get(1));
+		jdbcTemplate.update("insert into bidlist (BidListId, account, type) values (?, null, 'Type Test')", blank.get(2));
+		try {
+			List<Long> ids = new ArrayList<>();
+			KeysetPage<BidListSummary> page = bidListService.findPage(BidListSort.ACCOUNT, null, null, 2);
+			while (true) {
+				page.content().forEach(bid -> ids.add(bid.getBidListId()));
+				if (!page.hasNext()) {
+					break;
+				}
+				page = bidListService.findPage(BidListSort.ACCOUNT, page.nextAfter(), page.nextAfterId(), 2);
+			}
+			Assert.assertEquals(blank, ids.subList(0, blank.size()));
+			for (BidList bid : saved) {
+				Assert.assertTrue("skipped id " + bid.getBidListId(), ids.contains(bid.getBidListId()));
+			}
+		} finally {
+			jdbcTemplate.update("delete from bidlist where BidListId in (?, ?, ?)", blank.toArray());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void malformedDateCursorIsRejected() {
+		bidListService.findPage(BidListSort.BID_LIST_DATE, "not a date", 1L, 2);
+	}
+}
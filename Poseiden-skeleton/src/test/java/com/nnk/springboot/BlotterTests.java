@@ -0,0 +1,127 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.TradeChangedEvent;
+import com.nnk.springboot.services.BlotterService;
+import com.nnk.springboot.services.BlotterTopic;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"app.blotter.interval=200ms",
+		"app.blotter.max-pending=2"})
+public class BlotterTests {
+
+	@Autowired
+	private BlotterService blotterService;
+
+	@Test
+	public void changesOfARowAreCoalesced() throws Exception {
+		RecordingEmitter emitter = new RecordingEmitter(null);
+		blotterService.subscribe(BlotterTopic.TRADES, emitter);
+
+		for (int i = 1; i <= 3; i++) {
+			blotterService.onTradeChanged(changed(1_000_000L, i));
+		}
+		await(() -> !emitter.rows().isEmpty());
+		Thread.sleep(500);
+
+		Assert.assertEquals(1, emitter.rows().size());
+		Assert.assertTrue(emitter.rows().get(0).contains("\"buyQuantity\":\"3.0\""));
+		Assert.assertFalse(emitter.rows().get(0).contains("\"buyQuantity\":\"1.0\""));
+		emitter.complete();
+	}
+
+	@Test
+	public void slowSubscriberIsDroppedWithoutDelayingTheOthers() throws Exception {
+		CountDownLatch stalled = new CountDownLatch(1);
+		RecordingEmitter slow = new RecordingEmitter(stalled);
+		RecordingEmitter fast = new RecordingEmitter(null);
+		int subscribers = blotterService.subscriberCount(BlotterTopic.TRADES);
+		blotterService.subscribe(BlotterTopic.TRADES, slow);
+		blotterService.subscribe(BlotterTopic.TRADES, fast);
+
+		// one message stuck in the send, two pending, the fourth one drops the subscriber
+		for (int i = 1; i <= 5; i++) {
+			blotterService.onTradeChanged(changed(2_000_000L + i, i));
+			Thread.sleep(400);
+		}
+
+		await(() -> fast.rows().size() == 5);
+		Assert.assertEquals(subscribers + 1, blotterService.subscriberCount(BlotterTopic.TRADES));
+		Assert.assertFalse(slow.completed);
+		stalled.countDown();
+		await(() -> slow.completed);
+		Assert.assertEquals(1, slow.rows().size());
+		fast.complete();
+	}
+
+	private static TradeChangedEvent changed(long id, double buyQuantity) {
+		Trade trade = new Trade("Blotter Account", "Type");
+		trade.setTradeId(id);
+		trade.setBuyQuantity(buyQuantity);
+		return new TradeChangedEvent(ChangeType.UPDATED, null, trade);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		Assert.assertTrue(condition.getAsBoolean());
+	}
+
+	/**
+	 * Keeps the "rows" events sent, each send blocking until {@code stalled} is released when there is one.
+	 */
+	private static class RecordingEmitter extends SseEmitter {
+		private final CountDownLatch stalled;
+		private final List<String> events = new CopyOnWriteArrayList<>();
+		private volatile boolean completed;
+
+		RecordingEmitter(CountDownLatch stalled) {
+			this.stalled = stalled;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			events.add(builder.build().stream()
+					.map(ResponseBodyEmitter.DataWithMediaType::getData)
+					.map(String::valueOf)
+					.collect(Collectors.joining()));
+			if (stalled != null) {
+				try {
+					stalled.await(30, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+			super.complete();
+		}
+
+		List<String> rows() {
+			return events.stream().filter(event -> event.startsWith("event:rows")).toList();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.BulkFilter;
+import com.nnk.springboot.services.PositionService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class BulkOperationTests {
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private PositionService positionService;
+
+	@Test
+	public void bulkUpdateAndDeleteByFilter() {
+		String book = "Bulk Book " + System.nanoTime();
+		for (int i = 0; i < 3; i++) {
+			Trade trade = new Trade("Bulk Account", "Type");
+			trade.setBook(book);
+			trade.setBuyQuantity(10d);
+			tradeService.save(trade);
+		}
+		Assert.assertEquals(1, positionService.findAll(null, book, null).size());
+
+		Assert.assertEquals(3, tradeService.updateStatusMatching(new BulkFilter(null, book), "CLOSED"));
+		Assert.assertEquals(0, tradeService.updateStatusMatching(new BulkFilter("OPEN", book), "CLOSED"));
+
+		List<Long> ids = tradeRepository.findAll().stream()
+				.filter(trade -> book.equals(trade.getBook()))
+				.peek(trade -> Assert.assertEquals("CLOSED", trade.getStatus()))
+				.map(Trade::getTradeId)
+				.toList();
+		Assert.assertEquals(1, tradeService.deleteAll(ids.subList(0, 1)));
+		Assert.assertEquals(2, tradeService.deleteMatching(new BulkFilter("CLOSED", book)));
+		Assert.assertTrue(positionService.findAll(null, book, null).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void filterIsRequired() {
+		tradeService.deleteMatching(new BulkFilter(null, null));
+	}
+}
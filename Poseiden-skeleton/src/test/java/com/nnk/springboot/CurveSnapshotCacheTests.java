@@ -0,0 +1,80 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.services.CurveCacheStats;
+import com.nnk.springboot.services.CurveKey;
+import com.nnk.springboot.services.CurveSnapshot;
+import com.nnk.springboot.services.CurveSnapshotCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class CurveSnapshotCacheTests {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final Function<CurveKey, CurveSnapshot> loader = key -> {
+		loads.incrementAndGet();
+		return CurveSnapshot.of(key.curveId(), new double[]{1d, 2d, 3d}, new double[]{1d, 2d, 3d}, 3);
+	};
+
+	@Test
+	public void secondReadIsAHit() {
+		CurveSnapshotCache cache = new CurveSnapshotCache(100);
+		CurveKey key = new CurveKey(1, null);
+
+		CurveSnapshot first = cache.get(key, loader);
+		Assert.assertSame(first, cache.get(key, loader));
+		Assert.assertEquals(1, loads.get());
+
+		CurveCacheStats stats = cache.stats();
+		Assert.assertEquals(1, stats.hits());
+		Assert.assertEquals(1, stats.misses());
+	}
+
+	@Test
+	public void invalidateOnlyDropsTheGivenCurve() {
+		CurveSnapshotCache cache = new CurveSnapshotCache(100);
+		cache.get(new CurveKey(1, null), loader);
+		cache.get(new CurveKey(2, null), loader);
+
+		cache.invalidate(new CurveKey(1, null));
+		cache.get(new CurveKey(1, null), loader);
+		cache.get(new CurveKey(2, null), loader);
+
+		Assert.assertEquals(3, loads.get());
+	}
+
+	@Test
+	public void loadRacingAnInvalidationOfAnUncachedCurveIsNotCached() {
+		CurveSnapshotCache cache = new CurveSnapshotCache(100);
+		CurveKey key = new CurveKey(1, null);
+
+		// the curve changes (and is invalidated) while its previous state is being loaded
+		cache.get(key, loaded -> {
+			cache.invalidate(loaded);
+			return loader.apply(loaded);
+		});
+		// reloaded: the first load was not cached
+		cache.get(key, loader);
+
+		Assert.assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void oldestCurvesAreEvictedAboveThePointBound() {
+		CurveSnapshotCache cache = new CurveSnapshotCache(7);
+		cache.get(new CurveKey(1, null), loader);
+		cache.get(new CurveKey(2, null), loader);
+		cache.get(new CurveKey(3, null), loader);
+
+		CurveCacheStats stats = cache.stats();
+		Assert.assertEquals(2, stats.curves());
+		Assert.assertEquals(6, stats.points());
+		Assert.assertEquals(1, stats.evictions());
+
+		cache.get(new CurveKey(1, null), loader);
+		Assert.assertEquals(4, loads.get());
+	}
+}
@@ -0,0 +1,41 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.services.CurveSnapshot;
+import com.nnk.springboot.services.InterpolationMethod;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CurveSnapshotTests {
+
+	private final CurveSnapshot curve = CurveSnapshot.of(1,
+			new double[]{1d, 2d, 2d, 5d, 10d}, new double[]{1d, 3d, 4d, 7d, 5d}, 5);
+
+	@Test
+	public void duplicatedTermKeepsLastValue() {
+		Assert.assertEquals(4, curve.size());
+		Assert.assertEquals(4d, curve.interpolate(2d, InterpolationMethod.LINEAR), 1e-12);
+	}
+
+	@Test
+	public void linearInterpolation() {
+		Assert.assertEquals(5.5d, curve.interpolate(3.5d, InterpolationMethod.LINEAR), 1e-12);
+		Assert.assertEquals(6d, curve.interpolate(7.5d, InterpolationMethod.LINEAR), 1e-12);
+	}
+
+	@Test
+	public void flatOutsideTheCurve() {
+		Assert.assertEquals(1d, curve.interpolate(0d, InterpolationMethod.CUBIC_SPLINE), 1e-12);
+		Assert.assertEquals(5d, curve.interpolate(30d, InterpolationMethod.CUBIC_SPLINE), 1e-12);
+	}
+
+	@Test
+	public void splineGoesThroughThePointsAndIsExactOnLines() {
+		for (double term : new double[]{1d, 2d, 5d, 10d}) {
+			Assert.assertEquals(curve.interpolate(term, InterpolationMethod.LINEAR),
+					curve.interpolate(term, InterpolationMethod.CUBIC_SPLINE), 1e-12);
+		}
+		CurveSnapshot line = CurveSnapshot.of(2, new double[]{0d, 1d, 3d, 4d}, new double[]{0d, 2d, 6d, 8d}, 4);
+		double[] values = line.interpolate(new double[]{0.5d, 2d, 3.5d}, InterpolationMethod.CUBIC_SPLINE);
+		Assert.assertArrayEquals(new double[]{1d, 4d, 7d}, values, 1e-12);
+	}
+}
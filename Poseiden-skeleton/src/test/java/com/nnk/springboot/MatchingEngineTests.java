@@ -0,0 +1,134 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.Fill;
+import com.nnk.springboot.services.FillRecorder;
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.Order;
+import com.nnk.springboot.services.OrderBookDepth;
+import com.nnk.springboot.services.OrderSide;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matching runs on the stripes after commit: depth() is queued behind the pending matches of the security, so
+ * once it returns they have been recorded.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MatchingEngineTests {
+
+	@Autowired
+	private BidListService bidListService;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private MatchingEngine matchingEngine;
+
+	@Autowired
+	private FillRecorder fillRecorder;
+
+	@Test
+	public void matchedOrdersAreRecorded() {
+		String security = "Match " + System.nanoTime();
+		BidList sell = bidListService.save(sell(security, 100d, 10d));
+		BidList buy = bidListService.save(buy(security, 100d, 4d));
+		depth(security);
+
+		Assert.assertEquals(FillRecorder.PARTIAL, bidListRepository.findById(sell.getBidListId()).orElseThrow().getStatus());
+		Assert.assertEquals(6d, bidListRepository.findById(sell.getBidListId()).orElseThrow().getAskQuantity(), 1e-9);
+		Assert.assertEquals(FillRecorder.FILLED, bidListRepository.findById(buy.getBidListId()).orElseThrow().getStatus());
+		Assert.assertEquals(2, trades(security));
+	}
+
+	@Test
+	public void closedOrdersLeaveTheBookAndStayClosed() {
+		String security = "Closed " + System.nanoTime();
+		BidList sell = bidListService.save(sell(security, 100d, 10d));
+		depth(security);
+		Assert.assertEquals(1, bidListService.updateStatus(List.of(sell.getBidListId()), "CLOSED"));
+		Assert.assertTrue(depth(security).asks().isEmpty());
+
+		BidList buy = bidListService.save(buy(security, 100d, 4d));
+		OrderBookDepth depth = depth(security);
+
+		Assert.assertEquals(1, depth.bids().size());
+		Assert.assertEquals("CLOSED", bidListRepository.findById(sell.getBidListId()).orElseThrow().getStatus());
+		Assert.assertNull(bidListRepository.findById(buy.getBidListId()).orElseThrow().getStatus());
+		Assert.assertEquals(0, trades(security));
+	}
+
+	@Test
+	public void fillsOfAClosedOrderAreNotRecorded() {
+		String security = "Recorder " + System.nanoTime();
+		BidList sell = sell(security, 100d, 10d);
+		sell.setStatus("CLOSED");
+		sell = bidListService.save(sell);
+		BidList buy = bidListService.save(buy(security, 100d, 4d));
+		Order sellOrder = new Order(sell.getBidListId(), security, OrderSide.SELL, Order.toTicks(100), Order.toLots(10),
+				"Match Account", null, null, "Type");
+		Order buyOrder = new Order(buy.getBidListId(), security, OrderSide.BUY, Order.toTicks(100), Order.toLots(4),
+				"Match Account", null, null, "Type");
+
+		Set<Long> closed = fillRecorder.record(List.of(new Fill(security, Order.toTicks(100), Order.toLots(4),
+				buyOrder, 0, sellOrder, Order.toLots(6))));
+
+		Assert.assertEquals(Set.of(sell.getBidListId()), closed);
+		Assert.assertEquals("CLOSED", bidListRepository.findById(sell.getBidListId()).orElseThrow().getStatus());
+		Assert.assertEquals(10d, bidListRepository.findById(sell.getBidListId()).orElseThrow().getAskQuantity(), 1e-9);
+		Assert.assertEquals(0, trades(security));
+	}
+
+	@Test
+	public void ordersAreReloadedOpenOnly() {
+		String security = "Reload " + System.nanoTime();
+		bidListService.save(sell(security, 100d, 10d));
+		BidList closed = sell(security, 99d, 10d);
+		closed.setStatus("CANCELLED");
+		bidListService.save(closed);
+
+		matchingEngine.rebuild();
+
+		OrderBookDepth depth = depth(security);
+		Assert.assertEquals(1, depth.asks().size());
+		Assert.assertEquals(100d, depth.asks().get(0).price(), 1e-9);
+	}
+
+	private OrderBookDepth depth(String security) {
+		return matchingEngine.depth(security, 10).join();
+	}
+
+	private long trades(String security) {
+		return tradeRepository.findAll().stream().filter(trade -> security.equals(trade.getSecurity())).count();
+	}
+
+	private static BidList buy(String security, double price, double quantity) {
+		BidList bidList = new BidList("Match Account", "Type", quantity);
+		bidList.setSecurity(security);
+		bidList.setBid(price);
+		return bidList;
+	}
+
+	private static BidList sell(String security, double price, double quantity) {
+		BidList bidList = new BidList("Match Account", "Type", null);
+		bidList.setSecurity(security);
+		bidList.setAsk(price);
+		bidList.setAskQuantity(quantity);
+		return bidList;
+	}
+}
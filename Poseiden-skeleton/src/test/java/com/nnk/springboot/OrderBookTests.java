@@ -0,0 +1,137 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.services.Fill;
+import com.nnk.springboot.services.Order;
+import com.nnk.springboot.services.OrderBook;
+import com.nnk.springboot.services.OrderBookDepth;
+import com.nnk.springboot.services.OrderSide;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class OrderBookTests {
+
+	@Test
+	public void bestPriceThenOldestOrderMatchesFirst() {
+		OrderBook book = new OrderBook("AAPL");
+		Assert.assertTrue(book.submit(order(1, OrderSide.SELL, 101, 10)).isEmpty());
+		Assert.assertTrue(book.submit(order(2, OrderSide.SELL, 100, 10)).isEmpty());
+		Assert.assertTrue(book.submit(order(3, OrderSide.SELL, 100, 10)).isEmpty());
+
+		List<Fill> fills = book.submit(order(4, OrderSide.BUY, 102, 25));
+
+		Assert.assertEquals(3, fills.size());
+		Assert.assertEquals(2, fills.get(0).sell().id());
+		Assert.assertEquals(3, fills.get(1).sell().id());
+		Assert.assertEquals(1, fills.get(2).sell().id());
+		// fills are at the resting price, not the aggressive one
+		Assert.assertEquals(100, fills.get(0).price(), 0);
+		Assert.assertEquals(101, fills.get(2).price(), 0);
+		Assert.assertEquals(5, fills.get(2).quantityValue(), 0);
+		Assert.assertEquals(0, fills.get(2).buyRemaining());
+		Assert.assertEquals(Order.toLots(5), fills.get(2).sellRemaining());
+		Assert.assertEquals(1, book.orderCount());
+	}
+
+	@Test
+	public void remainderRestsAtItsLimit() {
+		OrderBook book = new OrderBook("AAPL");
+		book.submit(order(1, OrderSide.BUY, 99, 10));
+
+		List<Fill> fills = book.submit(order(2, OrderSide.SELL, 99, 15));
+
+		Assert.assertEquals(1, fills.size());
+		Assert.assertEquals(Order.toLots(5), fills.get(0).sellRemaining());
+		OrderBookDepth depth = book.depth(10);
+		Assert.assertTrue(depth.bids().isEmpty());
+		Assert.assertEquals(1, depth.asks().size());
+		Assert.assertEquals(99, depth.asks().get(0).price(), 0);
+		Assert.assertEquals(5, depth.asks().get(0).quantity(), 0);
+	}
+
+	@Test
+	public void ordersThatDoNotCrossRest() {
+		OrderBook book = new OrderBook("AAPL");
+		book.submit(order(1, OrderSide.BUY, 99, 10));
+		book.submit(order(2, OrderSide.BUY, 98, 10));
+		Assert.assertTrue(book.submit(order(3, OrderSide.SELL, 100, 10)).isEmpty());
+		Assert.assertTrue(book.submit(order(4, OrderSide.SELL, 101, 10)).isEmpty());
+
+		OrderBookDepth depth = book.depth(10);
+		Assert.assertEquals(99, depth.bids().get(0).price(), 0);
+		Assert.assertEquals(98, depth.bids().get(1).price(), 0);
+		Assert.assertEquals(100, depth.asks().get(0).price(), 0);
+		Assert.assertEquals(101, depth.asks().get(1).price(), 0);
+		Assert.assertEquals(4, book.orderCount());
+	}
+
+	@Test
+	public void cancelledOrdersAreSkipped() {
+		OrderBook book = new OrderBook("AAPL");
+		book.submit(order(1, OrderSide.SELL, 100, 10));
+		book.submit(order(2, OrderSide.SELL, 100, 10));
+		book.submit(order(3, OrderSide.SELL, 101, 10));
+
+		Assert.assertTrue(book.cancel(1));
+		Assert.assertTrue(book.cancel(3));
+		Assert.assertFalse(book.cancel(3));
+		Assert.assertEquals(1, book.depth(10).asks().size());
+
+		List<Fill> fills = book.submit(order(4, OrderSide.BUY, 101, 20));
+		Assert.assertEquals(1, fills.size());
+		Assert.assertEquals(2, fills.get(0).sell().id());
+		Assert.assertEquals(101, book.depth(10).bids().get(0).price(), 0);
+	}
+
+	@Test
+	public void undoRestoresTheFilledOrdersAndTheirPriority() {
+		OrderBook book = new OrderBook("AAPL");
+		book.submit(order(1, OrderSide.SELL, 100, 10));
+		book.submit(order(2, OrderSide.SELL, 100, 10));
+		book.submit(order(3, OrderSide.SELL, 101, 10));
+		Order buy = order(4, OrderSide.BUY, 100, 25);
+
+		book.undo(buy, book.submit(buy));
+
+		Assert.assertEquals(3, book.orderCount());
+		OrderBookDepth depth = book.depth(5);
+		Assert.assertTrue(depth.bids().isEmpty());
+		Assert.assertEquals(20, depth.asks().get(0).quantity(), 0);
+		Assert.assertEquals(2, depth.asks().get(0).orders());
+		List<Fill> fills = book.submit(order(5, OrderSide.BUY, 100, 15));
+		Assert.assertEquals(1, fills.get(0).sell().id());
+		Assert.assertEquals(2, fills.get(1).sell().id());
+		Assert.assertEquals(Order.toLots(5), fills.get(1).sellRemaining());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void duplicateOrderIsRejected() {
+		OrderBook book = new OrderBook("AAPL");
+		book.submit(order(1, OrderSide.BUY, 99, 10));
+		book.submit(order(1, OrderSide.BUY, 99, 10));
+	}
+
+	@Test
+	public void orderIsTakenFromBidListSide() {
+		BidList bidList = new BidList("Account", "Type", 10d);
+		bidList.setBidListId(7L);
+		bidList.setSecurity("AAPL");
+		bidList.setBid(99.5);
+		Assert.assertNotNull(Order.of(bidList));
+		Assert.assertEquals(OrderSide.BUY, Order.of(bidList).side());
+		Assert.assertEquals(Order.toTicks(99.5), Order.of(bidList).priceTicks());
+
+		bidList.setSide("SELL");
+		Assert.assertNull(Order.of(bidList));
+		bidList.setAsk(100d);
+		bidList.setAskQuantity(3d);
+		Assert.assertEquals(OrderSide.SELL, Order.of(bidList).side());
+		Assert.assertEquals(Order.toLots(3), Order.of(bidList).quantity());
+	}
+
+	private static Order order(long id, OrderSide side, double price, double quantity) {
+		return new Order(id, "AAPL", side, Order.toTicks(price), Order.toLots(quantity), "Account", null, null, "Type");
+	}
+}
@@ -0,0 +1,89 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.Position;
+import com.nnk.springboot.services.PositionKey;
+import com.nnk.springboot.services.PositionService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class PositionTests {
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private PositionService positionService;
+
+	@Test
+	public void positionFollowsTradeWrites() {
+		PositionKey key = new PositionKey("Position Account " + System.nanoTime(), "Book", "Security");
+
+		Trade buy = trade(key, 100d, 10d, null, null);
+		buy = tradeService.save(buy);
+		Trade sell = tradeService.save(trade(key, null, null, 40d, 12d));
+
+		Position position = positionService.find(key).orElseThrow();
+		Assert.assertEquals(60d, position.netQuantity(), 1e-9);
+		Assert.assertEquals(10d, position.averageBuyPrice(), 1e-9);
+		Assert.assertEquals(2, position.tradeCount());
+
+		// Update
+		tradeService.update(buy.getTradeId(), trade(key, 50d, 10d, null, null));
+		Assert.assertEquals(10d, positionService.find(key).orElseThrow().netQuantity(), 1e-9);
+
+		// Delete
+		tradeService.delete(buy.getTradeId());
+		tradeService.delete(sell.getTradeId());
+		Assert.assertFalse(positionService.find(key).isPresent());
+	}
+
+	@Test
+	public void rebuildDuringTradeWritesCountsEachTradeOnce() throws Exception {
+		PositionKey key = new PositionKey("Rebuild Account " + System.nanoTime(), "Book", "Security");
+		ExecutorService writers = Executors.newFixedThreadPool(4);
+		List<Future<?>> done = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			done.add(writers.submit(() -> {
+				for (int j = 0; j < 25; j++) {
+					tradeService.save(trade(key, 1d, 10d, null, null));
+				}
+			}));
+		}
+		while (!done.stream().allMatch(Future::isDone)) {
+			positionService.rebuild();
+		}
+		for (Future<?> writer : done) {
+			writer.get();
+		}
+		writers.shutdown();
+
+		Position position = positionService.find(key).orElseThrow();
+		Assert.assertEquals(100, position.tradeCount());
+		Assert.assertEquals(100d, position.netQuantity(), 1e-9);
+	}
+
+	private static Trade trade(PositionKey key, Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+		Trade trade = new Trade(key.account(), "Type");
+		trade.setBook(key.book());
+		trade.setSecurity(key.security());
+		trade.setBuyQuantity(buyQuantity);
+		trade.setBuyPrice(buyPrice);
+		trade.setSellQuantity(sellQuantity);
+		trade.setSellPrice(sellPrice);
+		return trade;
+	}
+}
@@ -0,0 +1,45 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.services.RatingAgency;
+import com.nnk.springboot.services.RatingIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class RatingIndexTests {
+
+	private final RatingIndex index = RatingIndex.of(List.of(
+			new Rating("Aaa", "AAA", "AAA", 1),
+			new Rating("Aa1", "AA+", "AA+", 2),
+			new Rating("Baa3", "BBB-", "BBB-", 10),
+			new Rating("Ba1", "BB+", "BB+", 11)));
+
+	@Test
+	public void ordinals() {
+		Assert.assertEquals(10, index.ordinal(RatingAgency.MOODYS, "Baa3"));
+		Assert.assertEquals(RatingIndex.UNKNOWN, index.ordinal(RatingAgency.MOODYS, "BBB-"));
+		Assert.assertEquals(RatingIndex.UNKNOWN, index.ordinal(RatingAgency.FITCH, null));
+		Assert.assertArrayEquals(new int[]{1, 11, RatingIndex.UNKNOWN},
+				index.ordinals(RatingAgency.SANDP, new String[]{"AAA", "BB+", "C"}));
+	}
+
+	@Test
+	public void translateAndCompareAcrossAgencies() {
+		Assert.assertEquals("AA+", index.translate(RatingAgency.MOODYS, "Aa1", RatingAgency.FITCH));
+		Assert.assertNull(index.translate(RatingAgency.MOODYS, "Caa1", RatingAgency.FITCH));
+		Assert.assertTrue(index.compare(RatingAgency.MOODYS, "Aaa", RatingAgency.SANDP, "BBB-") < 0);
+		Assert.assertEquals(0, index.compare(RatingAgency.MOODYS, "Ba1", RatingAgency.FITCH, "BB+"));
+		Assert.assertTrue(index.compare(RatingAgency.MOODYS, "unrated", RatingAgency.SANDP, "BB+") > 0);
+	}
+
+	@Test
+	public void investmentGradeFloor() {
+		int floor = index.ordinal(RatingAgency.SANDP, "BBB-");
+		Assert.assertTrue(index.atLeast(RatingAgency.MOODYS, "Aa1", floor));
+		Assert.assertTrue(index.atLeast(RatingAgency.FITCH, "BBB-", floor));
+		Assert.assertFalse(index.atLeast(RatingAgency.MOODYS, "Ba1", floor));
+		Assert.assertFalse(index.atLeast(RatingAgency.MOODYS, "unrated", floor));
+	}
+}
@@ -0,0 +1,83 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.RevisionLogService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "app.revisions.max-delay=50ms")
+public class RevisionLogTests {
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private RevisionLogService revisionLogService;
+
+	@Test
+	public void tradeStateAsOfEachRevision() throws Exception {
+		Instant beforeCreate = Instant.now();
+		Thread.sleep(10);
+		Trade trade = tradeService.save(new Trade("Revision Account", "Type"));
+		Long id = trade.getTradeId();
+		Thread.sleep(10);
+		Instant afterCreate = Instant.now();
+		Thread.sleep(10);
+
+		Trade update = new Trade("Revision Account Update", "Type");
+		tradeService.update(id, update);
+		Thread.sleep(10);
+		Instant afterUpdate = Instant.now();
+		Thread.sleep(10);
+		tradeService.delete(id);
+
+		// revisions are written asynchronously
+		long deadline = System.currentTimeMillis() + 5000;
+		while (revisionLogService.asOf(Trade.class, id, Instant.now()).isPresent()
+				|| !revisionLogService.asOf(Trade.class, id, afterUpdate).isPresent()) {
+			Assert.assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(50);
+		}
+
+		Assert.assertFalse(revisionLogService.asOf(Trade.class, id, beforeCreate).isPresent());
+		Optional<Trade> created = revisionLogService.asOf(Trade.class, id, afterCreate);
+		Assert.assertEquals("Revision Account", created.get().getAccount());
+		Assert.assertEquals("Revision Account Update",
+				revisionLogService.asOf(Trade.class, id, afterUpdate).get().getAccount());
+	}
+
+	@Test
+	public void asOfAfterABulkStatementIsRejected() throws Exception {
+		Trade trade = tradeService.save(new Trade("Bulk Revision Account", "Type"));
+		Long id = trade.getTradeId();
+		Thread.sleep(10);
+		Instant beforeBulk = Instant.now();
+		Thread.sleep(10);
+		tradeService.updateStatus(List.of(id), "CLOSED");
+		Thread.sleep(10);
+		Instant afterBulk = Instant.now();
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (true) {
+			try {
+				revisionLogService.asOf(Trade.class, id, afterBulk);
+			} catch (IllegalStateException e) {
+				break;
+			}
+			Assert.assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(50);
+		}
+		Assert.assertEquals("Bulk Revision Account",
+				revisionLogService.asOf(Trade.class, id, beforeBulk).get().getAccount());
+	}
+}
@@ -0,0 +1,63 @@
+package com.nnk.springboot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.RuleConditions;
+import com.nnk.springboot.services.RuleTarget;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.function.Predicate;
+
+public class RuleConditionsTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void nestedConditions() throws Exception {
+		Predicate<Trade> rule = compile("{\"all\": [{\"field\": \"book\", \"op\": \"in\", \"value\": [\"Book 1\", \"Book 2\"]}," +
+				"{\"any\": [{\"field\": \"buyQuantity\", \"op\": \"gt\", \"value\": 1000}," +
+				"{\"not\": {\"field\": \"side\", \"op\": \"notNull\"}}]}]}");
+
+		Trade trade = new Trade("Account", "Type");
+		trade.setBook("Book 1");
+		trade.setSide("BUY");
+		trade.setBuyQuantity(1500d);
+		Assert.assertTrue(rule.test(trade));
+
+		trade.setBuyQuantity(10d);
+		Assert.assertFalse(rule.test(trade));
+
+		trade.setSide(null);
+		Assert.assertTrue(rule.test(trade));
+
+		trade.setBook("Book 3");
+		Assert.assertFalse(rule.test(trade));
+	}
+
+	@Test
+	public void nullFieldsOnlyMatchIsNull() throws Exception {
+		Trade trade = new Trade("Account", "Type");
+		Assert.assertFalse(compile("{\"field\": \"buyPrice\", \"op\": \"ne\", \"value\": 1}").test(trade));
+		Assert.assertFalse(compile("{\"field\": \"status\", \"op\": \"notIn\", \"value\": [\"OPEN\"]}").test(trade));
+		Assert.assertTrue(compile("{\"field\": \"status\", \"op\": \"isNull\"}").test(trade));
+	}
+
+	@Test
+	public void timeFields() throws Exception {
+		Trade trade = new Trade("Account", "Type");
+		trade.setTradeDate(Timestamp.valueOf("2024-03-01 10:00:00"));
+		Assert.assertTrue(compile("{\"field\": \"tradeDate\", \"op\": \"gte\", \"value\": \"2024-03-01\"}").test(trade));
+		Assert.assertFalse(compile("{\"field\": \"tradeDate\", \"op\": \"lt\", \"value\": \"2024-03-01 09:00:00\"}").test(trade));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownFieldIsRejected() throws Exception {
+		compile("{\"field\": \"bid\", \"op\": \"gt\", \"value\": 1}");
+	}
+
+	private Predicate<Trade> compile(String json) throws Exception {
+		return RuleConditions.compile(objectMapper.readTree(json), RuleTarget.TRADE);
+	}
+}
@@ -0,0 +1,83 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.ChangeType;
+import com.nnk.springboot.events.RuleNameChangedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleEvaluation;
+import com.nnk.springboot.services.RuleNameService;
+import com.nnk.springboot.services.RuleTarget;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RuleEngineTests {
+
+	@Autowired
+	private RuleEngine ruleEngine;
+
+	@Autowired
+	private RuleNameService ruleNameService;
+
+	@SpyBean
+	private RuleNameRepository ruleNameRepository;
+
+	@Test
+	public void rulesNotCompilingForTheTargetAreLeftOut() {
+		RuleName bidsOnly = ruleNameService.save(new RuleName("Bids Only", "Description",
+				"{\"field\": \"bidQuantity\", \"op\": \"gt\", \"value\": 10}", "Template", null, null));
+		RuleName both = ruleNameService.save(new RuleName("Both", "Description",
+				"{\"field\": \"account\", \"op\": \"eq\", \"value\": \"Rule Account\"}", "Template", null, null));
+
+		Map<Long, List<Integer>> trades = matches(ruleEngine.evaluate(RuleTarget.TRADE, List.of(),
+				List.of(new Trade("Rule Account", "Type"))));
+		Assert.assertFalse(trades.containsKey(bidsOnly.getId()));
+		Assert.assertEquals(List.of(0), trades.get(both.getId()));
+
+		Map<Long, List<Integer>> bids = matches(ruleEngine.evaluate(RuleTarget.BID_LIST, List.of(),
+				List.of(new BidList("Rule Account", "Type", 20d))));
+		Assert.assertEquals(List.of(0), bids.get(bidsOnly.getId()));
+		Assert.assertEquals(List.of(0), bids.get(both.getId()));
+	}
+
+	@Test
+	public void ruleIdsLoadedWhileARuleChangesAreNotCached() {
+		ruleEngine.onRuleNameChanged(new RuleNameChangedEvent(ChangeType.UPDATED, -1L));
+		Answer<?> repository = Mockito.mockingDetails(ruleNameRepository).getMockCreationSettings().getDefaultAnswer();
+		Mockito.doAnswer(invocation -> {
+			Object rules = repository.answer(invocation);
+			ruleEngine.onRuleNameChanged(new RuleNameChangedEvent(ChangeType.UPDATED, -1L));
+			return rules;
+		}).when(ruleNameRepository).findAll(ArgumentMatchers.any(Sort.class));
+
+		ruleEngine.evaluate(RuleTarget.TRADE, List.of(), List.of());
+		ruleEngine.evaluate(RuleTarget.TRADE, List.of(), List.of());
+		Mockito.verify(ruleNameRepository, Mockito.times(2)).findAll(ArgumentMatchers.any(Sort.class));
+
+		Mockito.doAnswer(repository).when(ruleNameRepository).findAll(ArgumentMatchers.any(Sort.class));
+		ruleEngine.evaluate(RuleTarget.TRADE, List.of(), List.of());
+		ruleEngine.evaluate(RuleTarget.TRADE, List.of(), List.of());
+		Mockito.verify(ruleNameRepository, Mockito.times(3)).findAll(ArgumentMatchers.any(Sort.class));
+	}
+
+	private static Map<Long, List<Integer>> matches(List<RuleEvaluation> evaluations) {
+		return evaluations.stream().collect(Collectors.toMap(RuleEvaluation::ruleId, RuleEvaluation::matchingRows));
+	}
+}
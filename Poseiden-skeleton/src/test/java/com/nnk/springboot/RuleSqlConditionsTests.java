@@ -0,0 +1,53 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.services.RuleSqlConditions;
+import com.nnk.springboot.services.RuleTarget;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class RuleSqlConditionsTests {
+
+	@Test
+	public void constantsBecomeParameters() {
+		RuleSqlConditions.SqlCondition condition = RuleSqlConditions.compile(
+				"book IN ('Book 1', 'O''Neil') and (buyQuantity > 1000 or not side is null)", RuleTarget.TRADE);
+		Assert.assertEquals("book in (:p0, :p1) and (buyQuantity > :p2 or not side is null)", condition.sql());
+		Assert.assertEquals(Map.of("p0", "Book 1", "p1", "O'Neil", "p2", new BigDecimal("1000")),
+				condition.parameters());
+	}
+
+	@Test
+	public void betweenAndLike() {
+		RuleSqlConditions.SqlCondition condition = RuleSqlConditions.compile(
+				"tradeDate between '2024-01-01' and '2024-02-01' and security not like 'US%'", RuleTarget.TRADE);
+		Assert.assertEquals("tradeDate between :p0 and :p1 and security not like :p2", condition.sql());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void subqueriesAreRejected() {
+		RuleSqlConditions.compile("account in (select password from users)", RuleTarget.TRADE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void otherColumnsAreRejected() {
+		RuleSqlConditions.compile("password = 'x'", RuleTarget.TRADE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void functionsAreRejected() {
+		RuleSqlConditions.compile("book = sleep(10)", RuleTarget.TRADE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void commentsAreRejected() {
+		RuleSqlConditions.compile("book = 'x' -- and", RuleTarget.TRADE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void trailingTokensAreRejected() {
+		RuleSqlConditions.compile("book = 'x' book", RuleTarget.TRADE);
+	}
+}
@@ -0,0 +1,90 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.BidListSearch;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.SearchCursor;
+import com.nnk.springboot.services.SearchPage;
+import com.nnk.springboot.services.TradeSearch;
+import com.nnk.springboot.services.TradeService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SearchTests {
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private BidListService bidListService;
+
+	@Test
+	public void tradesArePagedNewestFirstByCursor() {
+		String book = "Search Book " + System.nanoTime();
+		List<Long> newestFirst = new ArrayList<>();
+		for (int day = 1; day <= 3; day++) {
+			Trade trade = new Trade("Search Account", "Type");
+			trade.setBook(book);
+			trade.setTradeDate(Timestamp.valueOf(LocalDate.of(2024, 1, day).atTime(12, 0)));
+			newestFirst.add(0, tradeService.save(trade).getTradeId());
+		}
+		Trade undated = new Trade("Search Account", "Type");
+		undated.setBook(book);
+		newestFirst.add(tradeService.save(undated).getTradeId());
+		TradeSearch search = new TradeSearch(null, null, null, book, "", null, null);
+
+		SearchPage<Trade> first = tradeService.search(search, null, null, 3);
+		Assert.assertEquals(newestFirst.subList(0, 3), ids(first));
+		Assert.assertNull(first.previous());
+		Assert.assertNotNull(first.next());
+
+		// rows without trade date come last
+		SearchPage<Trade> second = tradeService.search(search, first.next(), null, 3);
+		Assert.assertEquals(newestFirst.subList(3, 4), ids(second));
+		Assert.assertNull(second.next());
+
+		SearchPage<Trade> back = tradeService.search(search, null, second.previous(), 3);
+		Assert.assertEquals(newestFirst.subList(0, 3), ids(back));
+		Assert.assertNull(back.previous());
+
+		SearchPage<Trade> middle = tradeService.search(search, SearchCursor.of(
+				Timestamp.valueOf(LocalDate.of(2024, 1, 3).atTime(12, 0)).toString(), newestFirst.get(0)), null, 1);
+		Assert.assertEquals(newestFirst.subList(1, 2), ids(middle));
+
+		TradeSearch days = new TradeSearch(null, null, null, book, null, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 2));
+		Assert.assertEquals(1, tradeService.search(days, null, null, 10).content().size());
+	}
+
+	@Test
+	public void bidListsAreSearchedInCommentary() {
+		String account = "Search " + System.nanoTime();
+		BidList match = new BidList(account, "Type", 10d);
+		match.setCommentary("Client wants 100% FILL before close");
+		match = bidListService.save(match);
+		BidList other = new BidList(account, "Type", 10d);
+		other.setCommentary("Partial fill is fine");
+		bidListService.save(other);
+
+		SearchPage<BidList> page = bidListService.search(
+				new BidListSearch(account, null, null, null, null, null, null, "100% fill"), null, null, 10);
+		Assert.assertEquals(1, page.content().size());
+		Assert.assertEquals(match.getBidListId(), page.content().get(0).getBidListId());
+	}
+
+	private static List<Long> ids(SearchPage<Trade> page) {
+		return page.content().stream().map(Trade::getTradeId).collect(Collectors.toList());
+	}
+}
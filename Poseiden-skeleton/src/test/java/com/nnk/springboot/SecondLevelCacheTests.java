@@ -0,0 +1,58 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.config.SecondLevelCacheEndpoint;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Starts the context with the second-level cache configured as in application.properties.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SecondLevelCacheTests {
+
+	private static final String REGION = Rating.class.getName();
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@Autowired
+	private SecondLevelCacheEndpoint secondLevelCacheEndpoint;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	public void ratingIsReadFromTheCache() {
+		Rating rating = ratingRepository.save(new Rating("Cached Moodys", "Cached SandP", "Cached Fitch", 30));
+		Assert.assertTrue(secondLevelCacheEndpoint.stats().regions().containsKey(REGION));
+		long hits = secondLevelCacheEndpoint.stats().regions().get(REGION).hits();
+
+		// each call has its own session, the second one cannot use the first level cache
+		ratingRepository.findById(rating.getId()).get();
+		ratingRepository.findById(rating.getId()).get();
+
+		Assert.assertTrue(secondLevelCacheEndpoint.stats().regions().get(REGION).hits() > hits);
+		ratingRepository.delete(rating);
+	}
+
+	@Test
+	public void onlyCacheableEntitiesAreCached() {
+		MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+		Assert.assertTrue(metamodel.getEntityDescriptor(Rating.class).canWriteToCache());
+		Assert.assertFalse(metamodel.getEntityDescriptor(Trade.class).canWriteToCache());
+		Assert.assertFalse(metamodel.getEntityDescriptor(BidList.class).canWriteToCache());
+	}
+}
@@ -0,0 +1,65 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.repositories.projections.BidListRiskRow;
+import com.nnk.springboot.services.RiskGrouping;
+import com.nnk.springboot.services.SpreadAccumulator;
+import com.nnk.springboot.services.SpreadReduction;
+import com.nnk.springboot.services.SpreadSummary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class SpreadReductionTests {
+
+	@Test
+	public void parallelReductionMatchesSequentialTotals() {
+		Random random = new Random(42);
+		List<BidListRiskRow> rows = new ArrayList<>();
+		Map<String, SpreadAccumulator> expected = new HashMap<>();
+		for (int i = 1; i <= 20000; i++) {
+			String book = i % 10 == 0 ? null : "Book " + random.nextInt(5);
+			Double bid = i % 7 == 0 ? null : 100 + random.nextInt(100) / 10d;
+			Double ask = i % 11 == 0 ? null : 101 + random.nextInt(100) / 10d;
+			Double bidQuantity = i % 13 == 0 ? null : (double) random.nextInt(1000);
+			Double askQuantity = (double) random.nextInt(1000);
+			rows.add(new BidListRiskRow((long) i, book, "Trader", bid, ask, bidQuantity, askQuantity));
+			expected.computeIfAbsent(book, key -> new SpreadAccumulator()).add(bid, ask, bidQuantity, askQuantity);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Map<String, SpreadAccumulator> actual = pool.invoke(new SpreadReduction(rows, RiskGrouping.BOOK));
+			Assert.assertEquals(expected.keySet(), actual.keySet());
+			expected.forEach((book, accumulator) -> {
+				SpreadSummary wanted = accumulator.toSummary(book);
+				SpreadSummary got = actual.get(book).toSummary(book);
+				Assert.assertEquals(wanted.rowCount(), got.rowCount());
+				Assert.assertEquals(wanted.quotedCount(), got.quotedCount());
+				Assert.assertEquals(wanted.averageSpread(), got.averageSpread(), 1e-9);
+				Assert.assertEquals(wanted.averageMid(), got.averageMid(), 1e-9);
+				Assert.assertEquals(wanted.weightedBid(), got.weightedBid(), 1e-9);
+				Assert.assertEquals(wanted.askNotional(), got.askNotional(), 1e-3);
+			});
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void missingPricesLeaveAveragesEmpty() {
+		SpreadAccumulator accumulator = new SpreadAccumulator();
+		accumulator.add(null, 10d, 5d, null);
+		SpreadSummary summary = accumulator.toSummary("Book");
+		Assert.assertNull(summary.averageBid());
+		Assert.assertNull(summary.averageSpread());
+		Assert.assertNull(summary.weightedAsk());
+		Assert.assertEquals(10d, summary.averageAsk(), 1e-12);
+		Assert.assertEquals(5d, summary.bidQuantity(), 1e-12);
+	}
+}
@@ -0,0 +1,29 @@
+package com.nnk.springboot;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * The pools declared as beans must not leave MVC async requests without applicationTaskExecutor (see
+ * TaskExecutorConfig).
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TaskExecutorTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	public void applicationTaskExecutorIsAPool() {
+		Assert.assertTrue(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+				instanceof ThreadPoolTaskExecutor);
+	}
+}
@@ -0,0 +1,91 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.TradeCaptureService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"app.trades.write-behind.enabled=true",
+		"app.trades.write-behind.journal=target/trade-capture-test.journal",
+		"app.trades.write-behind.batch-size=2",
+		"app.trades.write-behind.max-delay=100ms"})
+public class TradeCaptureTests {
+
+	@Autowired
+	private TradeCaptureService tradeCaptureService;
+
+	@SpyBean
+	private TradeRepository tradeRepository;
+
+	@Test
+	public void capturedTradesAreStoredInGroups() throws Exception {
+		String book = "Capture Book " + System.nanoTime();
+		for (int i = 0; i < 3; i++) {
+			Trade trade = new Trade("Capture Account", "Type");
+			trade.setBook(book);
+			trade.setBuyQuantity(10d);
+			tradeCaptureService.capture(trade);
+		}
+
+		// the third trade waits for max-delay, not for a second one
+		long deadline = System.currentTimeMillis() + 5000;
+		while (stored(book) < 3 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		Assert.assertEquals(3, stored(book));
+		Assert.assertEquals(0, tradeCaptureService.queued());
+		Assert.assertNull(tradeCaptureService.writerFailure());
+		Path journal = Paths.get("target/trade-capture-test.journal");
+		Assert.assertEquals(0, Files.size(journal));
+	}
+
+	@Test
+	public void tradesStoredBeforeAFailureAreNotStoredAgain() throws Exception {
+		String book = "Retry Book " + System.nanoTime();
+		// the batch is rejected, then stored one by one until the second trade fails with a transient error
+		Answer<?> repository = Mockito.mockingDetails(tradeRepository).getMockCreationSettings().getDefaultAnswer();
+		AtomicInteger calls = new AtomicInteger();
+		Mockito.doAnswer(invocation -> switch (calls.incrementAndGet()) {
+			case 1 -> throw new DataIntegrityViolationException("rejected batch");
+			case 3 -> throw new QueryTimeoutException("transient failure");
+			default -> repository.answer(invocation);
+		}).when(tradeRepository).saveAll(ArgumentMatchers.anyIterable());
+		for (int i = 0; i < 2; i++) {
+			Trade trade = new Trade("Retry Account", "Type");
+			trade.setBook(book);
+			trade.setBuyQuantity(10d);
+			tradeCaptureService.capture(trade);
+		}
+
+		// the failed trade is retried after a second
+		long deadline = System.currentTimeMillis() + 5000;
+		while (stored(book) < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		Thread.sleep(500);
+		Assert.assertEquals(2, stored(book));
+		Assert.assertNull(tradeCaptureService.writerFailure());
+	}
+
+	private long stored(String book) {
+		return tradeRepository.findAll().stream().filter(trade -> book.equals(trade.getBook())).count();
+	}
+}
@@ -0,0 +1,63 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.services.CustomUserDetailsService;
+import com.nnk.springboot.services.UserService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class UserDetailsTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void rolesAreStoredWithoutPrefix() {
+		User saved = userService.save(user("prefixed" + System.nanoTime(), "ROLE_ADMIN"));
+		Assert.assertEquals("ADMIN", saved.getRole());
+		Assert.assertEquals(List.of("ROLE_ADMIN"), authorities(userDetailsService.loadUserByUsername(saved.getUsername())));
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> userService.save(user("none" + System.nanoTime(), null)));
+	}
+
+	@Test
+	public void usersWrittenOutsideTheServiceCanLogIn() {
+		jdbcTemplate.update("insert into users (Id, username, password, fullname, role) values (?, ?, ?, ?, ?)",
+				-1L, "legacy-prefixed", "hash", "Legacy", "ROLE_USER");
+		jdbcTemplate.update("insert into users (Id, username, password, fullname, role) values (?, ?, ?, ?, ?)",
+				-2L, "legacy-no-role", "hash", "Legacy", null);
+
+		Assert.assertEquals(List.of("ROLE_USER"), authorities(userDetailsService.loadUserByUsername("legacy-prefixed")));
+		Assert.assertEquals(List.of(), authorities(userDetailsService.loadUserByUsername("legacy-no-role")));
+	}
+
+	private static User user(String username, String role) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		user.setFullname("Full Name");
+		user.setRole(role);
+		return user;
+	}
+
+	private static List<String> authorities(UserDetails user) {
+		return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+	}
+}
@@ -0,0 +1,62 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application on an in-memory H2 database in MySQL mode (schema created by Hibernate, Flyway off,
+ * plus the revision_log table no entity maps) and seeds it, shared by the benchmarks that need a Spring context.
+ */
+final class BenchmarkApplication {
+
+	private static final int SEED_BATCH_SIZE = 10000;
+
+	private BenchmarkApplication() {
+	}
+
+	static ConfigurableApplicationContext start(String database, String... args) {
+		String[] defaults = {
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.flyway.enabled=false",
+				"--spring.jpa.show-sql=false"};
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+				.run(Stream.concat(Stream.of(defaults), Stream.of(args)).toArray(String[]::new));
+		new ResourceDatabasePopulator(new ClassPathResource("db/migration/V3__revision_log.sql"))
+				.execute(context.getBean(DataSource.class));
+		return context;
+	}
+
+	/**
+	 * Inserts {@code rows} rows of the entity's table with a fixed random seed, ids are drawn from the entity's
+	 * sequence so that rows saved by Hibernate afterwards do not collide. Returns the ids of the seeded rows.
+	 */
+	static long[] seed(ConfigurableApplicationContext context, BenchmarkEntity entity, int rows) {
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		Random random = new Random(42);
+		List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+		for (int i = 1; i <= rows; i++) {
+			batch.add(entity.row(random, i));
+			if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+				jdbcTemplate.batchUpdate(entity.insertSql(), batch);
+				batch.clear();
+			}
+		}
+		return jdbcTemplate.queryForList("select " + entity.idColumn() + " from " + entity.table(), Long.class)
+				.stream().mapToLong(Long::longValue).toArray();
+	}
+}
@@ -0,0 +1,231 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.sql.Timestamp;
+import java.util.Random;
+
+/**
+ * The six entities as seen by the benchmarks: how to seed their table with JDBC, build and modify an entity and
+ * read a page through the repository.
+ */
+public enum BenchmarkEntity {
+	BID_LIST(BidListRepository.class, "bidlist", "BidListId",
+			"account, type, book, trader, bid, ask, bidQuantity, askQuantity, status, bidListDate") {
+		@Override
+		Object[] row(Random random, int i) {
+			Double bid = i % 10 == 0 ? null : 100 + random.nextInt(1000) / 100d;
+			Double ask = i % 15 == 0 ? null : 101 + random.nextInt(1000) / 100d;
+			return new Object[]{"Account " + random.nextInt(1000), "Type", "Book " + random.nextInt(50),
+					"Trader " + random.nextInt(200), bid, ask, (double) random.nextInt(10000),
+					(double) random.nextInt(10000), random.nextBoolean() ? "OPEN" : "CLOSED", timestamp(i)};
+		}
+
+		@Override
+		Object newEntity(int n) {
+			BidList bidList = new BidList("Account " + n % 1000, "Type", 10d);
+			bidList.setBook("Book " + n % 50);
+			bidList.setBid(100d);
+			bidList.setAsk(101d);
+			bidList.setStatus("OPEN");
+			bidList.setBidListDate(timestamp(n));
+			return bidList;
+		}
+
+		@Override
+		void update(Object entity, int n) {
+			((BidList) entity).setBidQuantity((double) n);
+		}
+
+		@Override
+		Slice<?> list(Object repository, Pageable pageable) {
+			return ((BidListRepository) repository).findAllBy(pageable);
+		}
+	},
+	TRADE(TradeRepository.class, "trade", "TradeId",
+			"account, type, book, security, trader, buyQuantity, buyPrice, sellQuantity, sellPrice, status, tradeDate") {
+		@Override
+		Object[] row(Random random, int i) {
+			boolean buy = random.nextBoolean();
+			Double quantity = (double) (1 + random.nextInt(1000));
+			Double price = 100 + random.nextInt(1000) / 100d;
+			return new Object[]{"Account " + random.nextInt(1000), "Type", "Book " + random.nextInt(50),
+					"Security " + random.nextInt(500), "Trader " + random.nextInt(200), buy ? quantity : null,
+					buy ? price : null, buy ? null : quantity, buy ? null : price,
+					random.nextBoolean() ? "OPEN" : "CLOSED", timestamp(i)};
+		}
+
+		@Override
+		Object newEntity(int n) {
+			Trade trade = new Trade("Account " + n % 1000, "Type");
+			trade.setBook("Book " + n % 50);
+			trade.setSecurity("Security " + n % 500);
+			trade.setBuyQuantity(10d);
+			trade.setBuyPrice(100d);
+			trade.setStatus("OPEN");
+			trade.setTradeDate(timestamp(n));
+			return trade;
+		}
+
+		@Override
+		void update(Object entity, int n) {
+			((Trade) entity).setBuyQuantity((double) n);
+		}
+
+		@Override
+		Slice<?> list(Object repository, Pageable pageable) {
+			return ((TradeRepository) repository).findAllBy(pageable);
+		}
+	},
+	CURVE_POINT(CurvePointRepository.class, "curvepoint", "Id", "CurveId, term, value, creationDate") {
+		@Override
+		Object[] row(Random random, int i) {
+			return new Object[]{i / 100, (double) (i % 100), random.nextDouble() * 5, timestamp(i)};
+		}
+
+		@Override
+		Object newEntity(int n) {
+			return new CurvePoint(-1 - n / 100, (double) (n % 100), 1d);
+		}
+
+		@Override
+		void update(Object entity, int n) {
+			((CurvePoint) entity).setValue((double) n);
+		}
+
+		@Override
+		Slice<?> list(Object repository, Pageable pageable) {
+			return ((CurvePointRepository) repository).findAllBy(pageable);
+		}
+	},
+	RATING(RatingRepository.class, "rating", "Id", "moodysRating, sandPRating, fitchRating, orderNumber") {
+		@Override
+		Object[] row(Random random, int i) {
+			return new Object[]{"Aa" + i % 3, "AA" + i % 3, "AA" + i % 3, i};
+		}
+
+		@Override
+		Object newEntity(int n) {
+			return new Rating("Aa1", "AA+", "AA+", n);
+		}
+
+		@Override
+		void update(Object entity, int n) {
+			((Rating) entity).setOrderNumber(n);
+		}
+
+		@Override
+		Slice<?> list(Object repository, Pageable pageable) {
+			return ((RatingRepository) repository).findAllBy(pageable);
+		}
+	},
+	RULE_NAME(RuleNameRepository.class, "rulename", "Id", "name, description") {
+		@Override
+		Object[] row(Random random, int i) {
+			return new Object[]{"Rule " + i, "Description " + random.nextInt(1000)};
+		}
+
+		@Override
+		Object newEntity(int n) {
+			return new RuleName("Rule " + n, "Description", null, null, null, null);
+		}
+
+		@Override
+		void update(Object entity, int n) {
+			((RuleName) entity).setDescription("Description " + n);
+		}
+
+		@Override
+		Slice<?> list(Object repository, Pageable pageable) {
+			return ((RuleNameRepository) repository).findAllBy(pageable);
+		}
+	},
+	USER(UserRepository.class, "users", "id", "username, password, fullname, role") {
+		@Override
+		Object[] row(Random random, int i) {
+			return new Object[]{"seeded" + i, PASSWORD_HASH, "User " + i, i % 10 == 0 ? "ADMIN" : "USER"};
+		}
+
+		@Override
+		Object newEntity(int n) {
+			User user = new User();
+			user.setUsername("benchmark" + n);
+			user.setPassword(PASSWORD_HASH);
+			user.setFullname("User " + n);
+			user.setRole("USER");
+			return user;
+		}
+
+		@Override
+		void update(Object entity, int n) {
+			((User) entity).setFullname("User " + n);
+		}
+
+		@Override
+		Slice<?> list(Object repository, Pageable pageable) {
+			return ((UserRepository) repository).findAllBy(pageable);
+		}
+	};
+
+	private static final String PASSWORD_HASH = "$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa";
+	private static final long EPOCH = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+
+	private final Class<? extends JpaRepository<?, Long>> repository;
+	private final String table;
+	private final String idColumn;
+	private final String insertSql;
+
+	BenchmarkEntity(Class<? extends JpaRepository<?, Long>> repository, String table, String idColumn, String columns) {
+		this.repository = repository;
+		this.table = table;
+		this.idColumn = idColumn;
+		this.insertSql = "insert into " + table + " (" + idColumn + ", " + columns + ") values (next value for "
+				+ table + "_seq" + ", ?".repeat(columns.split(",").length) + ")";
+	}
+
+	/** Values of the seeded columns for the i-th row, in the order of the insert statement. */
+	abstract Object[] row(Random random, int i);
+
+	/** A new transient entity, {@code n} keeps unique columns unique. */
+	abstract Object newEntity(int n);
+
+	abstract void update(Object entity, int n);
+
+	abstract Slice<?> list(Object repository, Pageable pageable);
+
+	@SuppressWarnings("unchecked")
+	JpaRepository<Object, Long> repository(ApplicationContext context) {
+		return (JpaRepository<Object, Long>) context.getBean(repository);
+	}
+
+	String table() {
+		return table;
+	}
+
+	String idColumn() {
+		return idColumn;
+	}
+
+	String insertSql() {
+		return insertSql;
+	}
+
+	private static Timestamp timestamp(int minutes) {
+		return new Timestamp(EPOCH + minutes * 60_000L);
+	}
+}
@@ -0,0 +1,95 @@
+package com.nnk.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end latency of the read endpoints of each controller (handler, service, repository and view rendering)
+ * through MockMvc, on an in-memory H2 database where the endpoint's table holds the given number of rows.
+ * The security filter chain is not applied. Sampled, so the report has percentiles.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=ControllerBenchmark} or the main method (test classpath).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ControllerBenchmark {
+
+	public enum Endpoint {
+		BID_LIST_PAGE("/bidList/list", BenchmarkEntity.BID_LIST),
+		BID_LIST_SUMMARY("/bidList/summary?groupBy=BOOK", BenchmarkEntity.BID_LIST),
+		BID_LIST_API("/api/v1/bidLists?size=50", BenchmarkEntity.BID_LIST),
+		TRADE_LIST("/trade/list", BenchmarkEntity.TRADE),
+		TRADE_API("/api/v1/trades?size=50", BenchmarkEntity.TRADE),
+		CURVE_POINT_LIST("/curvePoint/list", BenchmarkEntity.CURVE_POINT),
+		RATING_LIST("/rating/list", BenchmarkEntity.RATING),
+		RULE_NAME_LIST("/ruleName/list", BenchmarkEntity.RULE_NAME),
+		USER_LIST("/user/list", BenchmarkEntity.USER);
+
+		private final String path;
+		private final BenchmarkEntity entity;
+
+		Endpoint(String path, BenchmarkEntity entity) {
+			this.path = path;
+			this.entity = entity;
+		}
+	}
+
+	@Param({"1000", "100000", "1000000"})
+	public int rows;
+
+	@Param({"BID_LIST_PAGE", "BID_LIST_SUMMARY", "BID_LIST_API", "TRADE_LIST", "TRADE_API", "CURVE_POINT_LIST",
+			"RATING_LIST", "RULE_NAME_LIST", "USER_LIST"})
+	public Endpoint endpoint;
+
+	private ConfigurableApplicationContext context;
+	private MockMvc mockMvc;
+
+	@Setup
+	public void setUp() throws Exception {
+		context = BenchmarkApplication.start("controller");
+		BenchmarkApplication.seed(context, endpoint.entity, rows);
+		mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+		// fail at setup rather than measuring error pages
+		mockMvc.perform(get(endpoint.path)).andExpect(status().isOk());
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public MvcResult request() throws Exception {
+		return mockMvc.perform(get(endpoint.path)).andReturn();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ControllerBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,120 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.services.Fill;
+import com.nnk.springboot.services.MatchingEngine;
+import com.nnk.springboot.services.Order;
+import com.nnk.springboot.services.OrderBook;
+import com.nnk.springboot.services.OrderSide;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of matching and cancelling in a book holding {@code orders} resting orders spread over 100 price
+ * levels per side, directly on an OrderBook and through a one-stripe MatchingEngine (hand-off included).
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=OrderBookBenchmark} or the main method (test classpath).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+	private static final String SECURITY = "BENCH";
+	private static final int LEVELS = 100;
+	private static final long LARGE = Long.MAX_VALUE / 4;
+
+	@Param({"1000", "100000"})
+	public int orders;
+
+	private OrderBook book;
+	private MatchingEngine engine;
+	private Random random;
+	private long nextId;
+
+	@Setup
+	public void setUp() {
+		book = new OrderBook(SECURITY);
+		engine = new MatchingEngine(1);
+		random = new Random(42);
+		// the best ask at 100 is large enough never to be used up by 1 lot buys
+		Order best = new Order(0, SECURITY, OrderSide.SELL, Order.toTicks(100), LARGE, "Account", null, null, "Type");
+		book.rest(best);
+		engine.submit(best).join();
+		for (int i = 1; i <= orders; i++) {
+			OrderSide side = i % 2 == 0 ? OrderSide.BUY : OrderSide.SELL;
+			int level = i / 2 % LEVELS;
+			double price = side == OrderSide.BUY ? 99 - level * 0.01 : 100.01 + level * 0.01;
+			Order order = new Order(i, SECURITY, side, Order.toTicks(price), Order.toLots(10), "Account", null, null, "Type");
+			book.rest(order);
+			engine.submit(order).join();
+		}
+		nextId = orders + 1;
+	}
+
+	@TearDown
+	public void tearDown() {
+		engine.destroy();
+	}
+
+	@Benchmark
+	public List<Fill> match() {
+		return book.submit(aggressiveBuy());
+	}
+
+	@Benchmark
+	public boolean cancelAndRest() {
+		Order order = restingOrder();
+		boolean cancelled = book.cancel(order.id());
+		book.rest(order);
+		return cancelled;
+	}
+
+	@Benchmark
+	public List<Fill> engineMatch() {
+		return engine.submit(aggressiveBuy()).join();
+	}
+
+	@Benchmark
+	public boolean engineCancelAndRest() {
+		Order order = restingOrder();
+		boolean cancelled = engine.cancel(SECURITY, order.id()).join();
+		engine.submit(order).join();
+		return cancelled;
+	}
+
+	private Order aggressiveBuy() {
+		return new Order(nextId++, SECURITY, OrderSide.BUY, Order.toTicks(100), 1, "Account", null, null, "Type");
+	}
+
+	// same id, price and quantity as seeded, so that the book keeps its shape
+	private Order restingOrder() {
+		int i = 1 + random.nextInt(orders);
+		OrderSide side = i % 2 == 0 ? OrderSide.BUY : OrderSide.SELL;
+		int level = i / 2 % LEVELS;
+		double price = side == OrderSide.BUY ? 99 - level * 0.01 : 100.01 + level * 0.01;
+		return new Order(i, SECURITY, side, Order.toTicks(price), Order.toLots(10), "Account", null, null, "Type");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(OrderBookBenchmark.class.getSimpleName()).build()).run();
+	}
+}
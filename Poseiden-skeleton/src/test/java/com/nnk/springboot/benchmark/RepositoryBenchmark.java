@@ -0,0 +1,123 @@
+package com.nnk.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * List, insert, batch insert, update and delete throughput of each repository on an in-memory H2 database seeded
+ * with the given number of rows. Inserts are kept, so the table grows during the run.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=RepositoryBenchmark} or the main method (test classpath).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RepositoryBenchmark {
+
+	private static final int PAGE_SIZE = 50;
+	private static final int BATCH_SIZE = 50;
+
+	@Param({"1000", "100000", "1000000"})
+	public int rows;
+
+	@Param({"BID_LIST", "TRADE", "CURVE_POINT", "RATING", "RULE_NAME", "USER"})
+	public BenchmarkEntity entity;
+
+	private final AtomicInteger sequence = new AtomicInteger();
+	private ConfigurableApplicationContext context;
+	private JpaRepository<Object, Long> repository;
+	private TransactionTemplate transactionTemplate;
+	private long[] ids;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkApplication.start("repository");
+		ids = BenchmarkApplication.seed(context, entity, rows);
+		repository = entity.repository(context);
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Slice<?> list() {
+		int page = ThreadLocalRandom.current().nextInt(Math.max(1, rows / PAGE_SIZE));
+		return entity.list(repository, PageRequest.of(page, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Object insert() {
+		return repository.save(entity.newEntity(sequence.incrementAndGet()));
+	}
+
+	@Benchmark
+	public List<Object> batchInsert() {
+		List<Object> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.add(entity.newEntity(sequence.incrementAndGet()));
+		}
+		return repository.saveAll(batch);
+	}
+
+	/** Loads a seeded row and changes one column, flushed as an update on commit. */
+	@Benchmark
+	public Object update() {
+		long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+		return transactionTemplate.execute(status -> {
+			Object row = repository.findById(id).orElseThrow();
+			entity.update(row, sequence.incrementAndGet());
+			return row;
+		});
+	}
+
+	@Benchmark
+	public void delete(Inserted inserted) {
+		repository.delete(inserted.row);
+	}
+
+	/** A row inserted before each invocation of {@link #delete}, outside of the measurement. */
+	@State(Scope.Thread)
+	public static class Inserted {
+		private Object row;
+
+		@Setup(Level.Invocation)
+		public void insert(RepositoryBenchmark benchmark) {
+			row = benchmark.insert();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RepositoryBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,73 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.services.RiskGrouping;
+import com.nnk.springboot.services.RiskSummaryService;
+import com.nnk.springboot.services.SpreadSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Risk summary computed by the fork-join reduction against the SQL GROUP BY, on an in-memory H2 database
+ * seeded with the given number of bids.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=RiskSummaryBenchmark} or the main method (test classpath).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RiskSummaryBenchmark {
+
+	@Param({"10000", "1000000"})
+	public int rows;
+
+	@Param({"BOOK", "TRADER"})
+	public RiskGrouping grouping;
+
+	private ConfigurableApplicationContext context;
+	private RiskSummaryService riskSummaryService;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkApplication.start("risk");
+		BenchmarkApplication.seed(context, BenchmarkEntity.BID_LIST, rows);
+		riskSummaryService = context.getBean(RiskSummaryService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<SpreadSummary> parallel() {
+		return riskSummaryService.summarizeParallel(grouping);
+	}
+
+	@Benchmark
+	public List<SpreadSummary> sql() {
+		return riskSummaryService.summarizeSql(grouping);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RiskSummaryBenchmark.class.getSimpleName()).build()).run();
+	}
+}
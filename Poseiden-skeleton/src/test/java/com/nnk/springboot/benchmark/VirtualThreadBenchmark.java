@@ -0,0 +1,103 @@
+package com.nnk.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursts of concurrent clients requesting the first BidList page over HTTP, with Tomcat on platform threads
+ * (200 at most) or on virtual threads, both limited by a Hikari pool of 20. The score is the time until every
+ * client of the burst has its page, throughput is clients / score. Needs the java21 build for virtual=true
+ * and enough file descriptors for two sockets per client:
+ * {@code mvn -Pjava21,benchmark verify -Djmh.args=VirtualThreadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+	private static final int BIDS = 10000;
+
+	@Param({"false", "true"})
+	public boolean virtual;
+
+	@Param({"1000", "4000"})
+	public int clients;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private HttpRequest request;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkApplication.start("threads",
+				"--app.threads.virtual=" + virtual,
+				"--spring.datasource.hikari.maximum-pool-size=20");
+		if (virtual && !context.containsBean("virtualThreadConfig")) {
+			context.close();
+			throw new IllegalStateException("app.threads.virtual=true needs the java21 profile build");
+		}
+		BenchmarkApplication.seed(context, BenchmarkEntity.BID_LIST, BIDS);
+		// low bcrypt strength so that HTTP basic on every request does not dominate the page rendering
+		context.getBean(JdbcTemplate.class).update("insert into users (id, username, password, fullname, role) " +
+				"values (next value for users_seq, 'benchmark', ?, 'Benchmark', 'USER')",
+				new BCryptPasswordEncoder(4).encode("benchmark"));
+
+		String port = context.getEnvironment().getProperty("local.server.port");
+		String credentials = Base64.getEncoder().encodeToString("benchmark:benchmark".getBytes(StandardCharsets.UTF_8));
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bidList/list"))
+				.header("Authorization", "Basic " + credentials)
+				.build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int burst() {
+		CompletableFuture<?>[] responses = new CompletableFuture<?>[clients];
+		for (int i = 0; i < clients; i++) {
+			responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenAccept(response -> {
+				if (response.statusCode() != 200) {
+					throw new IllegalStateException("HTTP " + response.statusCode());
+				}
+			});
+		}
+		CompletableFuture.allOf(responses).join();
+		return clients;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(VirtualThreadBenchmark.class.getSimpleName()).build()).run();
+	}
+}